@@ -0,0 +1,249 @@
+package com.vsk.employee_management_webapp.loadtest;
+
+import com.vsk.employee_management_webapp.EmployeeManagementWebappApplication;
+import com.vsk.employee_management_webapp.model.Employee;
+import com.vsk.employee_management_webapp.model.Role;
+import com.vsk.employee_management_webapp.model.User;
+import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import com.vsk.employee_management_webapp.repository.RoleRepository;
+import com.vsk.employee_management_webapp.repository.UserRepository;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop HTTP load test for GET /api/employees, the NDJSON export of GET /api/employees/all
+ * and POST /api/auth/login, run once per stack: servlet on the platform Tomcat pool, servlet on
+ * virtual threads, and the reactive profile (WebFlux on Netty with R2DBC). Each mode starts the
+ * application on its own in-memory H2 database; pass url= (plus email= and password=) to
+ * drive an already running server instead, e.g. one backed by MySQL. In virtual mode the
+ * jdk.VirtualThreadPinned JFR event is recorded, and any pinning fails the run.
+ * <p>
+ * Arguments are key=value: modes=platform,virtual,reactive concurrency=400 warmup=5 duration=15
+ * (seconds) employees=1000 url= email= password=
+ */
+public final class EmployeeApiLoadTest {
+
+    private static final String EMAIL = "loadtest@example.com";
+    private static final String PASSWORD = "securepassword123";
+
+    private final Map<String, String> options;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private EmployeeApiLoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int pinnedEvents = new EmployeeApiLoadTest(options).run();
+        System.exit(pinnedEvents == 0 ? 0 : 1);
+    }
+
+    private int run() throws Exception {
+        List<Result> results = new ArrayList<>();
+        Map<String, AtomicLong> pinnedFrames = new ConcurrentHashMap<>();
+        String url = options.get("url");
+        List<String> modes = url != null
+                ? List.of("external")
+                : Arrays.asList(options.getOrDefault("modes", "platform,virtual,reactive").split(","));
+
+        for (String mode : modes) {
+            boolean virtual = mode.equals("virtual");
+            try (ConfigurableApplicationContext context = url == null ? start(mode) : null;
+                 RecordingStream pinning = virtual ? recordPinning(pinnedFrames) : null) {
+                String baseUrl = url != null
+                        ? url
+                        : "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+                String loginBody = "{\"email\":\"%s\",\"password\":\"%s\"}".formatted(
+                        options.getOrDefault("email", EMAIL), options.getOrDefault("password", PASSWORD));
+                String token = login(baseUrl, loginBody);
+
+                HttpRequest employees = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees?page=0&size=20"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build();
+                HttpRequest export = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees/all"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/x-ndjson")
+                        .GET()
+                        .build();
+                HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                        .build();
+                results.add(drive(mode, "GET /api/employees", employees));
+                results.add(drive(mode, "GET /api/employees/all", export)); // Streamed, so each request stays open longer
+                results.add(drive(mode, "POST /api/auth/login", login));
+            }
+        }
+
+        System.out.printf("%n%-9s %-22s %9s %7s %10s %8s %8s%n",
+                "mode", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        results.forEach(result -> System.out.printf("%-9s %-22s %9d %7d %10.1f %8.1f %8.1f%n",
+                result.mode(), result.endpoint(), result.requests(), result.errors(),
+                result.throughput(), result.p50Millis(), result.p99Millis()));
+
+        int pinned = pinnedFrames.values().stream().mapToInt(count -> (int) count.get()).sum();
+        System.out.printf("%nVirtual thread pinning events: %d%n", pinned);
+        pinnedFrames.forEach((frame, count) -> System.out.printf("  %6d  %s%n", count.get(), frame));
+        return pinned;
+    }
+
+    private ConfigurableApplicationContext start(String mode) {
+        // Passed as arguments so they override application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeManagementWebappApplication.class).run(
+                "--server.port=0",
+                "--spring.profiles.active=" + (mode.equals("reactive") ? "reactive" : "default"),
+                "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///loadtest-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1", // Same database as the JDBC URL
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type=WARN");
+
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        // One transaction, so the seeded role is still managed when the user's cascade reaches it
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            Role userRole = context.getBean(RoleRepository.class).findByName("ROLE_USER").orElseThrow(); // Seeded by the migrations
+            context.getBean(UserRepository.class).save(new User("Load", "Test", EMAIL,
+                    passwordEncoder.encode(PASSWORD), List.of(userRole)));
+        });
+        int employees = Integer.parseInt(options.getOrDefault("employees", "1000"));
+        context.getBean(EmployeeRepository.class).saveAll(IntStream.range(0, employees)
+                .mapToObj(i -> new Employee("First" + i, "Last" + i, "employee" + i + "@example.com"))
+                .toList());
+        return context;
+    }
+
+    private static RecordingStream recordPinning(Map<String, AtomicLong> pinnedFrames) {
+        RecordingStream recording = new RecordingStream();
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+        recording.onEvent("jdk.VirtualThreadPinned", event -> {
+            String frame = event.getStackTrace() == null ? "<no stack trace>" : event.getStackTrace().getFrames().stream()
+                    .filter(f -> f.getMethod().getType().getName().startsWith("com.vsk."))
+                    .findFirst()
+                    .or(() -> event.getStackTrace().getFrames().stream().findFirst())
+                    .map(EmployeeApiLoadTest::describe)
+                    .orElse("<empty stack trace>");
+            pinnedFrames.computeIfAbsent(frame, key -> new AtomicLong()).incrementAndGet();
+        });
+        recording.startAsync();
+        return recording;
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private String login(String baseUrl, String loginBody) throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.body().replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+    }
+
+    /**
+     * Keeps concurrency requests in flight: a warmup phase that is discarded, then a measured
+     * phase whose latencies are merged for the percentiles
+     */
+    private Result drive(String mode, String endpoint, HttpRequest request) throws Exception {
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5"))).toNanos();
+        long durationNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "15"))).toNanos();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long until = measureFrom + durationNanos;
+
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < until) {
+                        boolean ok;
+                        try {
+                            ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (now < measureFrom) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = end - now;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+        for (Future<long[]> worker : workers) {
+            perWorker.add(worker.get());
+        }
+        long[] latencies = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, endpoint, latencies.length, errors.get(),
+                latencies.length / (durationNanos / 1e9), percentile(latencies, 0.50), percentile(latencies, 0.99));
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(String mode, String endpoint, long requests, long errors,
+                          double throughput, double p50Millis, double p99Millis) {}
+}
@@ -0,0 +1,96 @@
+package com.vsk.employee_management_webapp.security;
+
+import com.vsk.employee_management_webapp.EmployeeManagementWebappApplication;
+import com.vsk.employee_management_webapp.model.Employee;
+import com.vsk.employee_management_webapp.model.Role;
+import com.vsk.employee_management_webapp.model.User;
+import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import com.vsk.employee_management_webapp.repository.RoleRepository;
+import com.vsk.employee_management_webapp.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * GET /api/employees/{id} through the full security filter chain (AuthTokenFilter included)
+ * against an in-memory H2 database, with and without the per-request user lookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AuthFilterChainBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+
+    @Param({"false", "true"})
+    public boolean userLookup;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String authorization;
+    private String path;
+
+    @Setup
+    public void setUp() {
+        // Passed as arguments so they override application.properties
+        context = new SpringApplicationBuilder(EmployeeManagementWebappApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type=WARN",
+                "--employee_app.security.userLookup=" + userLookup);
+
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        // One transaction, so the seeded role is still managed when the user's cascade reaches it
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            Role userRole = context.getBean(RoleRepository.class).findByName("ROLE_USER").orElseThrow(); // Seeded by the migrations
+            context.getBean(UserRepository.class).save(new User("Bench", "User", EMAIL,
+                    passwordEncoder.encode("securepassword123"), List.of(userRole)));
+        });
+        Employee employee = context.getBean(EmployeeRepository.class)
+                .save(new Employee("Bench", "Employee", "bench.employee@example.com"));
+        path = "/api/employees/" + employee.getId();
+
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var principal = new org.springframework.security.core.userdetails.User(EMAIL, "", authorities);
+        authorization = "Bearer " + context.getBean(JwtUtils.class)
+                .generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getEmployeeById() throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header("Authorization", authorization)).andReturn();
+        int status = result.getResponse().getStatus();
+        if (status != 200) {
+            throw new IllegalStateException("Unexpected status " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,61 @@
+package com.vsk.employee_management_webapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and per-request verification cost. jwtCacheMaxSize=0 approximates the
+ * uncached path (every call verifies the HS512 signature).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "tW1eD4xY8zVbQnA6cHjK9fL2mP5oR7sU0uZgXpA3rI5sYvC8wE1qF7hG0jN9kL4mL1nB6cO9aP2dE5fG8hJ3kL7mN0oQ5rS8tU1vW4xY7zVaBbCcDdEeFfGgHhIiJjKkLlMmNnOoPpQqRrSsTtUuVvWwXxYyZz0123456789+/=";
+
+    @Param({"0", "10000"})
+    public long jwtCacheMaxSize;
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, jwtCacheMaxSize, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        User user = new User("bench@example.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        token = jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromJwtToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    // What AuthTokenFilter does per request: one verify, then subject and roles from the verified token
+    @Benchmark
+    public Object verifyAndReadClaims() {
+        return jwtUtils.verify(token).map(VerifiedToken::authorities).orElse(null);
+    }
+}
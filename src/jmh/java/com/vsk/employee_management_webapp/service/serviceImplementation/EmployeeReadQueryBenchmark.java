@@ -0,0 +1,88 @@
+package com.vsk.employee_management_webapp.service.serviceImplementation;
+
+import com.vsk.employee_management_webapp.EmployeeManagementWebappApplication;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.model.Employee;
+import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * One page of employees read as managed entities and mapped to DTOs (the previous read path)
+ * versus selected straight into EmployeeResponse in a read-only transaction, against an
+ * in-memory H2 database. Run with -prof gc to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeReadQueryBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        // Passed as arguments so they override application.properties
+        context = new SpringApplicationBuilder(EmployeeManagementWebappApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type=WARN");
+
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeRepository.saveAll(IntStream.range(0, ROWS)
+                .mapToObj(i -> new Employee("First" + i, "Last" + i, "employee" + i + "@example.com"))
+                .toList());
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // A page from the middle of the table, so both variants pay the same OFFSET
+        pageable = PageRequest.of(ROWS / pageSize / 2, pageSize, Sort.by("lastName"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> entityPage() {
+        return readWrite.execute(status -> {
+            List<Employee> employees = employeeRepository.findAll(pageable).getContent();
+            List<EmployeeResponse> responses = new ArrayList<>(employees.size());
+            for (Employee employee : employees) {
+                responses.add(EmployeeServiceImpl.mapToEmployeeResponse(employee));
+            }
+            return responses;
+        });
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> projectionPage() {
+        return readOnly.execute(status -> employeeRepository.findAllResponses(pageable).getContent());
+    }
+}
@@ -0,0 +1,61 @@
+package com.vsk.employee_management_webapp.service.serviceImplementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.dto.PaginatedResponse;
+import com.vsk.employee_management_webapp.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and JSON serialization of a page response, per page size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeResponseBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private List<Employee> employees;
+    private PaginatedResponse<EmployeeResponse> page;
+    private ObjectWriter pageWriter;
+
+    @Setup
+    public void setUp() {
+        employees = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Employee employee = new Employee("First" + i, "Last" + i, "employee" + i + "@example.com");
+            ReflectionTestUtils.setField(employee, "id", (long) i + 1);
+            employees.add(employee);
+        }
+        page = new PaginatedResponse<>(map(), 0, pageSize, 250_000L, 250_000 / pageSize, false);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pageWriter = objectMapper.writerFor(PaginatedResponse.class);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> mapToEmployeeResponse() {
+        return map();
+    }
+
+    @Benchmark
+    public byte[] serializePaginatedResponse() throws Exception {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    private List<EmployeeResponse> map() {
+        List<EmployeeResponse> responses = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            responses.add(EmployeeServiceImpl.mapToEmployeeResponse(employee));
+        }
+        return responses;
+    }
+}
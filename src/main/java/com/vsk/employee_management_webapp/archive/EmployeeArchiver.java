@@ -0,0 +1,137 @@
+package com.vsk.employee_management_webapp.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves soft-deleted employees from the live table to employees_archive on a background thread,
+ * once they have been deleted for longer than afterMs. Each batch is claimed oldest deletion
+ * first with SELECT ... FOR UPDATE SKIP LOCKED, so several instances can archive side by side and
+ * a restore of the same row simply waits for the batch, then copied and deleted in one short
+ * transaction. Batches are paced to maxRowsPerSecond, so a large backlog is worked off without
+ * holding locks or saturating the primary for long.
+ */
+@Component
+@ConditionalOnProperty(name = "employee_app.archive.enabled", matchIfMissing = true)
+@Slf4j
+public class EmployeeArchiver implements SmartLifecycle {
+
+    private static final String CLAIM_SQL = """
+            select id from employees
+            where deleted_at < ?
+            order by deleted_at
+            limit ?
+            for update skip locked""";
+    private static final String COPY_SQL = """
+            insert into employees_archive (id, first_name, last_name, email, version, deleted_at)
+            select id, first_name, last_name, email, version, deleted_at from employees where id in (:ids)""";
+    private static final String DELETE_SQL = "delete from employees where id in (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long afterMs;
+    private final int batchSize;
+    private final long intervalNanos;
+    private final long nanosPerRow;
+    private final Counter archived;
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public EmployeeArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${employee_app.archive.afterMs:3600000}") long afterMs,
+                            @Value("${employee_app.archive.batchSize:500}") int batchSize,
+                            @Value("${employee_app.archive.intervalMs:60000}") long intervalMs,
+                            @Value("${employee_app.archive.maxRowsPerSecond:2000}") int maxRowsPerSecond) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Rows the claim query reads but does not return are not kept locked
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.afterMs = afterMs;
+        this.batchSize = batchSize;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        this.nanosPerRow = TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond;
+        this.archived = Counter.builder("employee.archive.archived").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("employee-archiver").daemon().start(this::run);
+        log.info("Archiving employees deleted more than {} ms ago in batches of {}.", afterMs, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            long started = System.nanoTime();
+            int moved = 0;
+            try {
+                moved = archiveBatch();
+            } catch (RuntimeException e) {
+                log.warn("Archiving deleted employees failed: {}", e.getMessage());
+            }
+            if (!running) {
+                break;
+            }
+            // A full batch suggests a backlog: carry on at the configured rate, otherwise wait for the next round
+            LockSupport.parkNanos(moved < batchSize
+                    ? intervalNanos
+                    : moved * nanosPerRow - (System.nanoTime() - started));
+        }
+    }
+
+    private int archiveBatch() {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(CLAIM_SQL, Long.class, Timestamp.from(Instant.now().minusMillis(afterMs)), batchSize);
+            if (!ids.isEmpty()) {
+                Map<String, List<Long>> parameters = Map.of("ids", ids);
+                namedParameterJdbcTemplate.update(COPY_SQL, parameters);
+                namedParameterJdbcTemplate.update(DELETE_SQL, parameters);
+            }
+            return ids.size();
+        });
+        if (moved != null && moved > 0) {
+            archived.increment(moved);
+            log.debug("Archived {} deleted employees", moved);
+        }
+        return moved == null ? 0 : moved;
+    }
+}
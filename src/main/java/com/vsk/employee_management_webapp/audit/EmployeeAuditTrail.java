@@ -0,0 +1,296 @@
+package com.vsk.employee_management_webapp.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only history of employee changes: who changed which fields of which employee, from what
+ * to what. The diff and the actor are taken on the writing thread; once the transaction commits
+ * the records go onto a bounded in-memory queue, and a background writer inserts whatever has
+ * queued up in one JDBC batch. A write therefore pays for a diff and a queue offer, not an INSERT.
+ * Queued records are flushed on shutdown but lost if the process dies.
+ */
+@Component
+@Slf4j
+public class EmployeeAuditTrail implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "insert into employee_audit (employee_id, action, actor, changed_at, version, changes) values (?, ?, ?, ?, ?, ?)";
+    public static final String SYSTEM_ACTOR = "system"; // Writes made outside any authenticated request
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_RETRY_BACKOFF_MS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final Counter written;
+    private final Counter dropped;
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public EmployeeAuditTrail(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${employee_app.audit.queueCapacity:10000}") int queueCapacity,
+                              @Value("${employee_app.audit.batchSize:500}") int batchSize,
+                              @Value("${employee_app.audit.offerTimeoutMs:1000}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.written = Counter.builder("employee.audit.written").register(meterRegistry);
+        this.dropped = Counter.builder("employee.audit.dropped")
+                .description("Audit records lost because the queue stayed full or the database was unavailable at shutdown")
+                .register(meterRegistry);
+        Gauge.builder("employee.audit.queue", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public void created(Collection<EmployeeResponse> employees) {
+        created(employees, currentActor());
+    }
+
+    /**
+     * Record creates by the given user; for callers without a thread-bound security context,
+     * such as the reactive stack, which also call this only once their transaction has committed
+     */
+    public void created(Collection<EmployeeResponse> employees, String actor) {
+        List<Entry> entries = new ArrayList<>(employees.size());
+        for (EmployeeResponse employee : employees) {
+            entries.add(new Entry(employee.id(), "CREATED", actor, employee.version(), diff(null, employee)));
+        }
+        enqueueAfterCommit(entries);
+    }
+
+    /**
+     * Record updates from each employee's state before the change, by ID, to its state after;
+     * employees whose fields did not change are skipped
+     */
+    public void updated(Map<Long, EmployeeResponse> before, Collection<EmployeeResponse> after) {
+        updated(before, after, currentActor());
+    }
+
+    public void updated(Map<Long, EmployeeResponse> before, Collection<EmployeeResponse> after, String actor) {
+        List<Entry> entries = new ArrayList<>(after.size());
+        for (EmployeeResponse employee : after) {
+            Map<String, FieldChange> changes = diff(before.get(employee.id()), employee);
+            if (!changes.isEmpty()) {
+                entries.add(new Entry(employee.id(), "UPDATED", actor, employee.version(), changes));
+            }
+        }
+        enqueueAfterCommit(entries);
+    }
+
+    public void updated(EmployeeResponse before, EmployeeResponse after) {
+        updated(Map.of(before.id(), before), List.of(after));
+    }
+
+    public void updated(EmployeeResponse before, EmployeeResponse after, String actor) {
+        updated(Map.of(before.id(), before), List.of(after), actor);
+    }
+
+    public void deleted(Collection<EmployeeResponse> employees) {
+        deleted(employees, currentActor());
+    }
+
+    public void deleted(Collection<EmployeeResponse> employees, String actor) {
+        List<Entry> entries = new ArrayList<>(employees.size());
+        for (EmployeeResponse employee : employees) {
+            entries.add(new Entry(employee.id(), "DELETED", actor, employee.version(), diff(employee, null)));
+        }
+        enqueueAfterCommit(entries);
+    }
+
+    // A deleted employee brought back, with the state it returns in
+    public void restored(Collection<EmployeeResponse> employees) {
+        List<Entry> entries = new ArrayList<>(employees.size());
+        String actor = currentActor();
+        for (EmployeeResponse employee : employees) {
+            entries.add(new Entry(employee.id(), "RESTORED", actor, employee.version(), diff(null, employee)));
+        }
+        enqueueAfterCommit(entries);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("employee-audit").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            try {
+                thread.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, so requests still in flight at shutdown get their records written
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void enqueueAfterCommit(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> enqueue(entries, Instant.now()));
+    }
+
+    // Waits up to offerTimeoutMs in total for room, so a backlog slows a writer down before any record is
+    // lost, but a bulk write into a full queue is held up once rather than once per record
+    private void enqueue(List<Entry> entries, Instant changedAt) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        int lost = 0;
+        for (Entry entry : entries) {
+            if (!offer(entry.at(changedAt), deadline)) {
+                lost++;
+            }
+        }
+        if (lost > 0) {
+            dropped.increment(lost);
+            Entry first = entries.getFirst();
+            log.error("Audit queue is full; dropping {} of {} records, the first a {} of employee {} by {}",
+                    lost, entries.size(), first.action(), first.employeeId(), first.actor());
+        }
+    }
+
+    private boolean offer(Entry entry, long deadline) {
+        if (queue.offer(entry)) {
+            return true;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        try {
+            return queue.offer(entry, remaining, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            queue.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(POLL_NANOS);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // Retries until the batch is written; only gives up once shutting down
+    private void write(List<Entry> batch) {
+        for (long backoffMs = 100; ; backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS)) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind));
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    dropped.increment(batch.size());
+                    log.error("Dropping {} audit records that could not be written at shutdown", batch.size(), e);
+                    return;
+                }
+                log.warn("Writing {} audit records failed, retrying in {} ms: {}", batch.size(), backoffMs, e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+            }
+        }
+    }
+
+    private void bind(PreparedStatement statement, Entry entry) throws SQLException {
+        statement.setLong(1, entry.employeeId());
+        statement.setString(2, entry.action());
+        statement.setString(3, entry.actor());
+        statement.setTimestamp(4, Timestamp.from(entry.changedAt()));
+        statement.setLong(5, entry.version());
+        try {
+            statement.setString(6, objectMapper.writeValueAsString(entry.changes()));
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Cannot serialize audit changes for employee " + entry.employeeId(), e);
+        }
+    }
+
+    // The authenticated user set by AuthTokenFilter, or "system" for writes outside a request
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : SYSTEM_ACTOR;
+    }
+
+    private static Map<String, FieldChange> diff(EmployeeResponse before, EmployeeResponse after) {
+        Map<String, FieldChange> changes = new LinkedHashMap<>();
+        compare(changes, "firstName", before == null ? null : before.firstName(), after == null ? null : after.firstName());
+        compare(changes, "lastName", before == null ? null : before.lastName(), after == null ? null : after.lastName());
+        compare(changes, "email", before == null ? null : before.email(), after == null ? null : after.email());
+        return changes;
+    }
+
+    private static void compare(Map<String, FieldChange> changes, String field, String from, String to) {
+        if (!Objects.equals(from, to)) {
+            changes.put(field, new FieldChange(from, to));
+        }
+    }
+
+    private record FieldChange(String from, String to) {
+    }
+
+    private record Entry(long employeeId, String action, String actor, long version, Map<String, FieldChange> changes,
+                         Instant changedAt) {
+
+        Entry(long employeeId, String action, String actor, long version, Map<String, FieldChange> changes) {
+            this(employeeId, action, actor, version, changes, null);
+        }
+
+        Entry at(Instant time) {
+            return new Entry(employeeId, action, actor, version, changes, time);
+        }
+    }
+}
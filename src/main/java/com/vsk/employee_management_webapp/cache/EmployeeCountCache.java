@@ -0,0 +1,79 @@
+package com.vsk.employee_management_webapp.cache;
+
+import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import com.vsk.employee_management_webapp.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps an approximate total of employee rows so paginated listings do not need a
+ * COUNT(*) per request. Writes adjust the total after their transaction commits, and
+ * the value is re-read from the database once it is older than the configured TTL to
+ * correct any drift (failed commits, writes from other nodes).
+ */
+@Component
+@Slf4j
+public class EmployeeCountCache {
+
+    private static final long UNKNOWN = -1;
+
+    private final EmployeeRepository employeeRepository;
+    private final long ttlNanos;
+
+    private final AtomicLong count = new AtomicLong(UNKNOWN);
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile long refreshedAt;
+
+    public EmployeeCountCache(EmployeeRepository employeeRepository,
+                              @Value("${employee_app.countCacheTtlMs:60000}") long ttlMs) {
+        this.employeeRepository = employeeRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    /**
+     * Current total, refreshed from the database when stale. Only one caller refreshes at
+     * a time; the others keep serving the previous value unless there is none yet.
+     */
+    public long get() {
+        long current = count.get();
+        boolean stale = current == UNKNOWN || System.nanoTime() - refreshedAt > ttlNanos;
+        if (!stale) {
+            return current;
+        }
+        if (current == UNKNOWN) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return current;
+        }
+        try {
+            if (count.get() == UNKNOWN || System.nanoTime() - refreshedAt > ttlNanos) {
+                set(employeeRepository.count());
+            }
+            return count.get();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Record an exact total observed elsewhere (e.g. from a counted page query)
+     */
+    public void set(long total) {
+        count.set(total);
+        refreshedAt = System.nanoTime();
+        log.debug("Employee count cache set to {}", total);
+    }
+
+    public void increment(long delta) {
+        TransactionUtils.afterCommit(() -> count.updateAndGet(current -> current == UNKNOWN ? UNKNOWN : Math.max(0, current + delta)));
+    }
+
+    public void decrement(long delta) {
+        increment(-delta);
+    }
+}
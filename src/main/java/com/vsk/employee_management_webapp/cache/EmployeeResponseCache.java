@@ -0,0 +1,87 @@
+package com.vsk.employee_management_webapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The employees cache. A read-through miss may read a row before a concurrent update or delete
+ * commits and finish after that write has updated or evicted the entry, so a put never replaces
+ * an employee with an older version, and a miss is only cached when no eviction happened while
+ * it was loading. Misses must go through {@link #get(Object, Callable)}, i.e. @Cacheable(sync = true).
+ */
+public class EmployeeResponseCache extends CaffeineCache {
+
+    // Bumped by every eviction before it invalidates, so a load that overlapped one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public EmployeeResponseCache(String name, Cache<Object, Object> cache) {
+        super(name, cache, false);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        getNativeCache().asMap().merge(key, value, EmployeeResponseCache::newer);
+    }
+
+    /**
+     * The loader runs outside the cache rather than in Caffeine's computing get, which would
+     * hold a map-bin lock for the whole database round trip; concurrent misses for one
+     * employee may therefore load it more than once
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long loadedAt = generation.get();
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        // Checked under the entry's lock, which invalidate also takes, so no eviction can slip in between
+        getNativeCache().asMap().compute(key, (k, current) -> {
+            if (generation.get() != loadedAt) {
+                return current;
+            }
+            return current == null ? loaded : newer(current, loaded);
+        });
+        return loaded;
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generation.incrementAndGet();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        generation.incrementAndGet();
+        return super.invalidate();
+    }
+
+    // Versions only grow, so the higher one is the later state of the employee
+    private static Object newer(Object current, Object candidate) {
+        return ((EmployeeResponse) candidate).version() >= ((EmployeeResponse) current).version() ? candidate : current;
+    }
+}
@@ -0,0 +1,312 @@
+package com.vsk.employee_management_webapp.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.dto.EmployeeChangeEvent;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.exception.ServiceSaturatedException;
+import com.vsk.employee_management_webapp.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Committed employee changes, streamed as server-sent events. Each change is numbered and
+ * serialized once, after its transaction commits, into a fixed-size ring buffer that doubles as
+ * the replay log for clients resuming with Last-Event-ID. Subscribers hold only a cursor into the
+ * ring and are drained on virtual threads, so a slow client never builds up a queue of its own:
+ * once the ring has moved past its cursor it is dropped, and on reconnect it is told to reset.
+ * <p>
+ * Changes are numbered in the order their after-commit callbacks run, which for two transactions
+ * committing one right after the other may not be commit order; each event carries the employee's
+ * version so that clients order changes to the same employee by it.
+ */
+@Component
+@Slf4j
+public class EmployeeChangeFeed implements DisposableBean {
+
+    private static final String RESET_EVENT = "reset";
+    private static final int SEND_BATCH_SIZE = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Entry[] ring;
+    private final Lock appendLock = new ReentrantLock();
+    private volatile long lastSequence; // Written under appendLock, after the ring; 0 until the first change
+    // Sequences restart with the process, so event IDs carry the start time to tell runs apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("employee-changes-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("employee-changes-heartbeat").daemon().factory());
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final long retryMs;
+    private final Counter dropped;
+
+    public EmployeeChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${employee_app.changes.replayCapacity:10000}") int replayCapacity,
+                              @Value("${employee_app.changes.maxSubscribers:1000}") int maxSubscribers,
+                              @Value("${employee_app.changes.heartbeatMs:15000}") long heartbeatMs,
+                              @Value("${employee_app.changes.timeoutMs:1800000}") long timeoutMs,
+                              @Value("${employee_app.changes.retryMs:3000}") long retryMs) {
+        this.objectMapper = objectMapper;
+        this.ring = new Entry[replayCapacity];
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.retryMs = retryMs;
+        this.dropped = Counter.builder("employee.changes.dropped")
+                .description("Subscribers disconnected for falling further behind than the replay buffer")
+                .register(meterRegistry);
+        Gauge.builder("employee.changes.subscribers", subscribers, Set::size).register(meterRegistry);
+        Gauge.builder("employee.changes.sequence", this, feed -> feed.lastSequence).register(meterRegistry);
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        log.info("Employee change feed replays the last {} changes to up to {} subscribers.", replayCapacity, maxSubscribers);
+    }
+
+    public void created(Collection<EmployeeResponse> employees) {
+        publish(employees.stream()
+                .map(employee -> new EmployeeChangeEvent(0, EmployeeChangeEvent.Type.CREATED, employee.id(), employee.version(), employee))
+                .toList());
+    }
+
+    public void updated(Collection<EmployeeResponse> employees) {
+        publish(employees.stream()
+                .map(employee -> new EmployeeChangeEvent(0, EmployeeChangeEvent.Type.UPDATED, employee.id(), employee.version(), employee))
+                .toList());
+    }
+
+    /**
+     * Report deletes, given the employees at the version their deletion gave them
+     */
+    public void deleted(Collection<EmployeeResponse> employees) {
+        publish(employees.stream()
+                .map(employee -> new EmployeeChangeEvent(0, EmployeeChangeEvent.Type.DELETED, employee.id(), employee.version(), null))
+                .toList());
+    }
+
+    /**
+     * Open a stream of the changes after the given event ID, or of new changes only when there is none.
+     * A client whose last event is no longer buffered (or is from before a restart) first gets a
+     * reset event, telling it to reload its copy before applying further changes.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceSaturatedException("Too many change feed subscribers, please retry shortly.",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryMs)));
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        long head = lastSequence;
+        long resumeFrom = resumePoint(lastEventId, head);
+        try {
+            // Sends before the response is set up are buffered, so these cannot fail on the client's connection
+            emitter.send(SseEmitter.event().reconnectTime(retryMs).comment("employee changes"));
+            if (resumeFrom < 0) {
+                emitter.send(SseEmitter.event().id(eventId(head)).name(RESET_EVENT)
+                        .data("{\"sequence\":" + head + "}", MediaType.APPLICATION_JSON));
+                resumeFrom = head + 1;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Subscriber subscriber = new Subscriber(emitter, resumeFrom);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        signal(subscriber);
+        log.debug("Change feed subscriber added at sequence {}; {} subscribers", resumeFrom, subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void publish(List<EmployeeChangeEvent> changes) {
+        if (!changes.isEmpty()) {
+            TransactionUtils.afterCommit(() -> append(changes));
+        }
+    }
+
+    private void append(List<EmployeeChangeEvent> changes) {
+        long head;
+        appendLock.lock();
+        try {
+            head = lastSequence;
+            for (EmployeeChangeEvent change : changes) {
+                EmployeeChangeEvent event = new EmployeeChangeEvent(++head, change.type(), change.id(), change.version(), change.employee());
+                ring[(int) (head % ring.length)] = new Entry(head, event.type().name().toLowerCase(Locale.ROOT), toJson(event));
+            }
+            lastSequence = head;
+        } finally {
+            appendLock.unlock();
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.nextSequence <= head - ring.length) {
+                drop(subscriber);
+            } else {
+                signal(subscriber);
+            }
+        }
+    }
+
+    // Next sequence to send for the given Last-Event-ID, or -1 when the client must reset
+    private long resumePoint(String lastEventId, long head) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return head + 1;
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        return sequence < 0 || sequence > head || sequence < head - ring.length ? -1 : sequence + 1;
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            signal(subscriber);
+        }
+    }
+
+    // The feed no longer holds everything this subscriber has yet to see; the drain completes its stream
+    private void drop(Subscriber subscriber) {
+        subscriber.dropped = true;
+        if (subscribers.remove(subscriber)) {
+            dropped.increment();
+            log.info("Dropping change feed subscriber {} changes behind.", lastSequence - subscriber.nextSequence + 1);
+            signal(subscriber);
+        }
+    }
+
+    // At most one drain per subscriber; whoever ends a drain re-checks for work published meanwhile
+    private void signal(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false); // Shutting down
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                send(subscriber);
+                subscriber.draining.set(false);
+            } while (subscriber.hasWork(lastSequence) && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream timed out; the container completes the request
+            subscribers.remove(subscriber);
+            log.debug("Change feed subscriber closed: {}", e.getMessage());
+        }
+    }
+
+    private void send(Subscriber subscriber) throws IOException {
+        while (!subscriber.dropped && subscriber.nextSequence <= lastSequence) {
+            List<Entry> batch = read(subscriber.nextSequence);
+            if (batch == null) {
+                drop(subscriber);
+                break;
+            }
+            for (Entry entry : batch) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(eventId(entry.sequence()))
+                        .name(entry.type())
+                        .data(entry.json(), MediaType.APPLICATION_JSON));
+                subscriber.nextSequence = entry.sequence() + 1;
+            }
+        }
+        if (subscriber.dropped) {
+            if (!subscriber.closed) {
+                subscriber.closed = true;
+                subscriber.emitter.complete();
+            }
+        } else if (subscriber.heartbeatDue) {
+            subscriber.heartbeatDue = false;
+            subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    // Up to SEND_BATCH_SIZE buffered changes from the given sequence on, or null once they have been overwritten
+    private List<Entry> read(long from) {
+        long to = Math.min(lastSequence, from + SEND_BATCH_SIZE - 1);
+        List<Entry> batch = new ArrayList<>((int) (to - from + 1));
+        for (long sequence = from; sequence <= to; sequence++) {
+            Entry entry = ring[(int) (sequence % ring.length)];
+            if (entry.sequence() != sequence) {
+                return null;
+            }
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private String toJson(EmployeeChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize employee change " + event.sequence(), e);
+        }
+    }
+
+    private record Entry(long sequence, String type, String json) {
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile long nextSequence;
+        volatile boolean heartbeatDue;
+        volatile boolean dropped;
+        boolean closed; // Only touched by the drain, which the draining flag hands from one thread to the next
+
+        Subscriber(SseEmitter emitter, long nextSequence) {
+            this.emitter = emitter;
+            this.nextSequence = nextSequence;
+        }
+
+        boolean hasWork(long lastSequence) {
+            return dropped ? !closed : heartbeatDue || nextSequence <= lastSequence;
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.vsk.employee_management_webapp.config;
 
+import com.vsk.employee_management_webapp.security.OffloadingPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class AppConfig {
 
+    /**
+     * BCrypt at the configured strength, run off the request threads. Stored hashes with a lower
+     * strength are re-encoded on the user's next successful login.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public OffloadingPasswordEncoder passwordEncoder(
+            @Value("${employee_app.security.passwordHash.strength:10}") int strength,
+            @Value("${employee_app.security.passwordHash.threads:0}") int threads,
+            @Value("${employee_app.security.passwordHash.queueCapacity:64}") int queueCapacity,
+            @Value("${employee_app.security.passwordHash.retryAfterSeconds:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(bcrypt, poolSize, queueCapacity, retryAfterSeconds, meterRegistry);
     }
 }
@@ -0,0 +1,42 @@
+package com.vsk.employee_management_webapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.vsk.employee_management_webapp.cache.EmployeeResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE) // Wraps the transaction advice, so a cache hit never opens a transaction
+public class CacheConfiguration {
+
+    // EmployeeResponse by employee ID, read through by getEmployeeById
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    /**
+     * Caffeine (W-TinyLFU eviction) sized and timed by spring.cache.caffeine.spec. Puts and
+     * evictions made inside a transaction are deferred until it commits, so a rolled-back
+     * write never leaves its value in the cache. The employees cache orders its entries by
+     * version; see {@link EmployeeResponseCache}.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.caffeine.spec}") String caffeineSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return EMPLOYEES_CACHE.equals(name) ? new EmployeeResponseCache(name, cache) : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        caffeineCacheManager.setCacheNames(List.of(EMPLOYEES_CACHE));
+        caffeineCacheManager.setCacheSpecification(caffeineSpec);
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
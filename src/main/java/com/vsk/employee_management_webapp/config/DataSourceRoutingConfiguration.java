@@ -0,0 +1,84 @@
+package com.vsk.employee_management_webapp.config;
+
+import com.vsk.employee_management_webapp.datasource.ReadYourWritesInterceptor;
+import com.vsk.employee_management_webapp.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, active when employee_app.datasource.replica.url is set. Read-only
+ * transactions mark their connection read-only, which LazyConnectionDataSourceProxy turns into
+ * a connection from the replica pool; everything else, Flyway included, uses the primary pool.
+ */
+@Configuration
+@ConditionalOnProperty("employee_app.datasource.replica.url")
+@Slf4j
+public class DataSourceRoutingConfiguration implements WebMvcConfigurer {
+
+    private final Duration stickiness;
+
+    public DataSourceRoutingConfiguration(@Value("${employee_app.datasource.replica.readYourWritesMs:5000}") long stickinessMs) {
+        this.stickiness = Duration.ofMillis(stickinessMs);
+    }
+
+    /**
+     * Primary pool, configured by spring.datasource.* and spring.datasource.hikari.* as before
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Replica pool with its own size and timeouts
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${employee_app.datasource.replica.url}") String url,
+                                              @Value("${employee_app.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${employee_app.datasource.replica.password:${spring.datasource.password}}") String password,
+                                              @Value("${employee_app.datasource.replica.maximumPoolSize:20}") int maximumPoolSize,
+                                              @Value("${employee_app.datasource.replica.connectionTimeoutMs:5000}") long connectionTimeoutMs) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("employee-db-replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReplicaRoutingDataSource readOnlyTarget = new ReplicaRoutingDataSource(primary, replica);
+        readOnlyTarget.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readOnlyTarget);
+        log.info("Routing read-only transactions to the replica pool; a user's reads stay on the primary for {} after their writes",
+                stickiness);
+        return dataSource;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(stickiness, 100_000));
+    }
+}
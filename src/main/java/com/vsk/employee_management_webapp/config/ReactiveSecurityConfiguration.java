@@ -0,0 +1,117 @@
+package com.vsk.employee_management_webapp.config;
+
+import com.vsk.employee_management_webapp.datasource.ReadRouting;
+import com.vsk.employee_management_webapp.security.AuthScheduler;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import com.vsk.employee_management_webapp.security.ReactiveAuthTokenFilter;
+import com.vsk.employee_management_webapp.security.UserDetailsCache;
+import com.vsk.employee_management_webapp.service.serviceInterface.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * The rules of {@link SecurityConfiguration} for the reactive profile: stateless JWT
+ * authentication through {@link ReactiveAuthTokenFilter} and the same public paths
+ */
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfiguration {
+
+    private final UserService userService;
+    private final JwtUtils jwtUtils;
+    private final UserDetailsCache userDetailsCache; // Only used when userLookup is enabled
+    private final boolean userLookup; // Re-load the user on every request instead of trusting the token
+    private final int managementPort; // Separate actuator port bound to management.server.address, or -1
+
+    public ReactiveSecurityConfiguration(UserService userService, JwtUtils jwtUtils, UserDetailsCache userDetailsCache,
+                                         @Value("${employee_app.security.userLookup:false}") boolean userLookup,
+                                         @Value("${management.server.port:-1}") int managementPort) {
+        this.userService = userService;
+        this.jwtUtils = jwtUtils;
+        this.userDetailsCache = userDetailsCache;
+        this.userLookup = userLookup;
+        this.managementPort = managementPort;
+    }
+
+    @Bean
+    public AuthScheduler authScheduler(@Value("${employee_app.security.passwordHash.threads:0}") int threads,
+                                       @Value("${employee_app.security.passwordHash.queueCapacity:64}") int queueCapacity,
+                                       @Value("${employee_app.security.passwordHash.retryAfterSeconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new AuthScheduler(poolSize, queueCapacity, retryAfterSeconds);
+    }
+
+    /**
+     * Password login against the JPA user store. The lookup, the password check and the re-encoding
+     * of weaker hashes block, so all of them run on the auth threads rather than an event loop.
+     */
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager(PasswordEncoder passwordEncoder, AuthScheduler authScheduler) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
+                username -> authScheduler.fromCallable(() -> loadFromPrimary(username)));
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(authScheduler.scheduler()); // Where the password is matched
+        authenticationManager.setUserDetailsPasswordService((user, newPassword) ->
+                authScheduler.fromCallable(() -> userService.updatePassword(user, newPassword)));
+        return authenticationManager;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable) // Disable CSRF for stateless REST APIs
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance()) // Use stateless sessions
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/api/auth/**").permitAll() // Allow auth endpoints (login, register)
+                        .pathMatchers("/api/register/**", "/api/register").permitAll() // Keep register public
+                        .pathMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll() // Allow Swagger UI
+                        .matchers(this::isScrapeOnManagementPort).permitAll() // Scrapers on the local management port need no token
+                        .anyExchange().authenticated() // All other requests require authentication
+                )
+                .addFilterAt(new ReactiveAuthTokenFilter(jwtUtils, userService, userDetailsCache, userLookup), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    // The user may have registered a moment ago, so login never reads from a replica
+    private UserDetails loadFromPrimary(String username) {
+        ReadRouting.pinToPrimary();
+        try {
+            return userService.loadUserByUsername(username);
+        } finally {
+            ReadRouting.clear();
+        }
+    }
+
+    // Decided by the port the request arrived on, not the client address, which a local reverse proxy would make loopback
+    private Mono<MatchResult> isScrapeOnManagementPort(ServerWebExchange exchange) {
+        InetSocketAddress localAddress = exchange.getRequest().getLocalAddress();
+        boolean scrape = managementPort > 0 && localAddress != null && localAddress.getPort() == managementPort
+                && "/actuator/prometheus".equals(exchange.getRequest().getPath().value());
+        return scrape ? MatchResult.match() : MatchResult.notMatch();
+    }
+}
@@ -3,7 +3,12 @@ package com.vsk.employee_management_webapp.config;
 import com.vsk.employee_management_webapp.security.AuthEntryPointJwt;
 import com.vsk.employee_management_webapp.security.AuthTokenFilter;
 import com.vsk.employee_management_webapp.security.JwtUtils;
+import com.vsk.employee_management_webapp.security.UserDetailsCache;
 import com.vsk.employee_management_webapp.service.serviceInterface.UserService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,35 +18,46 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // ReactiveSecurityConfiguration on WebFlux
 @EnableMethodSecurity // Enable annotation-based security (e.g., @PreAuthorize)
 public class SecurityConfiguration {
 
     private final UserService userService; // Your UserDetailsService
     private final AuthEntryPointJwt unauthorizedHandler; // For handling unauthenticated requests
     private final JwtUtils jwtUtils; // Your JWT utility
+    private final UserDetailsCache userDetailsCache; // Only used when userLookup is enabled
+    private final boolean userLookup; // Re-load the user on every request instead of trusting the token
+    private final int managementPort; // Separate actuator port bound to management.server.address, or -1
 
-    public SecurityConfiguration(UserService userService, AuthEntryPointJwt unauthorizedHandler, JwtUtils jwtUtils) {
+    public SecurityConfiguration(UserService userService, AuthEntryPointJwt unauthorizedHandler, JwtUtils jwtUtils,
+                                 UserDetailsCache userDetailsCache,
+                                 @Value("${employee_app.security.userLookup:false}") boolean userLookup,
+                                 @Value("${management.server.port:-1}") int managementPort) {
         this.userService = userService;
         this.unauthorizedHandler = unauthorizedHandler;
         this.jwtUtils = jwtUtils;
+        this.userDetailsCache = userDetailsCache;
+        this.userLookup = userLookup;
+        this.managementPort = managementPort;
     }
 
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
-        return new AuthTokenFilter(jwtUtils, userService);
+        return new AuthTokenFilter(jwtUtils, userService, userDetailsCache, userLookup);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(BCryptPasswordEncoder passwordEncoder) {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userService); // Re-encode weaker hashes on successful login
         return authProvider;
     }
 
@@ -51,26 +67,34 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for stateless REST APIs
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler)) // Handle unauthorized access
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Use stateless sessions
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Streaming responses finish on an async dispatch that was already authorized
                         .requestMatchers("/api/auth/**").permitAll() // Allow auth endpoints (login, register)
                         .requestMatchers("/api/register/**").permitAll() // Keep register public
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll() // Allow Swagger UI
+                        .requestMatchers(this::isScrapeOnManagementPort).permitAll() // Scrapers on the local management port need no token
                         .anyRequest().authenticated() // All other requests require authentication
                 )
         // .formLogin(Customizer.withDefaults()) // Remove formLogin
         // .httpBasic(Customizer.withDefaults()) // Remove httpBasic
         ;
 
-        http.authenticationProvider(authenticationProvider(new BCryptPasswordEncoder())); // Use DAO authentication provider
+        http.authenticationProvider(authenticationProvider); // Use DAO authentication provider
 
         // Add our custom JWT filter before Spring Security's default UsernamePasswordAuthenticationFilter
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
+
+    // Decided by the port the request arrived on, not the client address, which a local reverse proxy would make loopback
+    private boolean isScrapeOnManagementPort(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
 }
\ No newline at end of file
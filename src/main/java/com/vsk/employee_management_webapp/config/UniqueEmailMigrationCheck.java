@@ -0,0 +1,81 @@
+package com.vsk.employee_management_webapp.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs before migration V2, which adds unique indexes on users.email and employees.email. A
+ * database baselined from the old ddl-auto=update schema may hold duplicate emails, which would
+ * fail the index with a bare vendor error; this stops the migration first and names them, so
+ * they can be changed or deleted before the next start. V2 itself is left untouched, as
+ * databases that already applied it check its checksum.
+ */
+@Component
+public class UniqueEmailMigrationCheck implements Callback {
+
+    private static final MigrationVersion UNIQUE_EMAILS = MigrationVersion.fromVersion("2");
+    private static final int SHOWN_DUPLICATES = 5;
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE
+                && context.getMigrationInfo() != null
+                && UNIQUE_EMAILS.equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> problems = new ArrayList<>();
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : List.of("users", "employees")) {
+                List<String> duplicates = duplicateEmails(statement, table);
+                if (!duplicates.isEmpty()) {
+                    problems.add(table + ": " + String.join(", ", duplicates));
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Cannot check for duplicate emails before migration 2", e);
+        }
+        if (!problems.isEmpty()) {
+            throw new FlywayException("Migration 2 adds unique indexes on users.email and employees.email, but these emails "
+                    + "are used by more than one row (" + String.join("; ", problems) + "). Change or delete the duplicate "
+                    + "rows, then start the application again.");
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "uniqueEmailCheck";
+    }
+
+    // Grouped with the column's own collation, so duplicates are found as the unique index would
+    private static List<String> duplicateEmails(Statement statement, String table) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        try (ResultSet rows = statement.executeQuery("select email, count(*) from " + table
+                + " where email is not null group by email having count(*) > 1 order by email")) {
+            while (rows.next()) {
+                if (duplicates.size() == SHOWN_DUPLICATES) {
+                    duplicates.add("...");
+                    break;
+                }
+                duplicates.add(rows.getString(1) + " (" + rows.getLong(2) + " rows)");
+            }
+        }
+        return duplicates;
+    }
+}
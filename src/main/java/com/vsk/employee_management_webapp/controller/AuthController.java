@@ -1,9 +1,11 @@
 package com.vsk.employee_management_webapp.controller;
 
+import com.vsk.employee_management_webapp.datasource.ReadFromPrimary;
 import com.vsk.employee_management_webapp.dto.JwtResponse;
 import com.vsk.employee_management_webapp.dto.LoginRequest;
 import com.vsk.employee_management_webapp.security.JwtUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,6 +17,7 @@ import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // ReactiveAuthController on WebFlux
 @Slf4j
 public class AuthController {
 
@@ -28,8 +31,9 @@ public class AuthController {
     }
 
     @PostMapping("/login")
+    @ReadFromPrimary // The user may have registered a moment ago
     public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        log.info("Attempting to authenticate user: {}", loginRequest.email());
+        log.debug("Attempting to authenticate user: {}", loginRequest.email());
 
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.email(), loginRequest.password()));
@@ -39,7 +43,7 @@ public class AuthController {
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
-        log.info("User {} authenticated successfully. Token generated.", userDetails.getUsername());
+        log.debug("User {} authenticated successfully. Token generated.", userDetails.getUsername());
         return ResponseEntity.ok(new JwtResponse(jwt, "Bearer"));
     }
 }
@@ -0,0 +1,51 @@
+package com.vsk.employee_management_webapp.controller;
+
+import com.vsk.employee_management_webapp.dto.CursorPageResponse;
+import com.vsk.employee_management_webapp.dto.EmployeeAuditResponse;
+import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeAuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Employee audit", description = "History of changes to employee records")
+@RestController
+@RequestMapping("/api/employees/audit")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // Read with blocking JPA queries; reactive writes are audited to the same table
+@Slf4j
+public class EmployeeAuditController {
+
+    private final EmployeeAuditService employeeAuditService;
+
+    public EmployeeAuditController(EmployeeAuditService employeeAuditService) {
+        this.employeeAuditService = employeeAuditService;
+        log.debug("EmployeeAuditController initialized.");
+    }
+
+    @Operation(summary = "Get employee change history", description = "Returns audit records newest first, optionally filtered by employeeId and/or actor; pass nextCursor as before for the next page")
+    @GetMapping
+    public ResponseEntity<CursorPageResponse<EmployeeAuditResponse>> getHistory(
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) Long before,
+            @PageableDefault(size = 50) Pageable pageable) {
+        log.debug("Fetching audit records before {} for employee {} and actor {}", before, employeeId, actor);
+        Slice<EmployeeAuditResponse> slice = employeeAuditService.getHistory(employeeId, actor, before, pageable.getPageSize());
+        String nextCursor = slice.hasNext() ? String.valueOf(slice.getContent().getLast().id()) : null;
+        CursorPageResponse<EmployeeAuditResponse> response = new CursorPageResponse<>(
+                slice.getContent(),
+                pageable.getPageSize(),
+                nextCursor,
+                nextCursor == null
+        );
+        return ResponseEntity.ok(response);
+    }
+}
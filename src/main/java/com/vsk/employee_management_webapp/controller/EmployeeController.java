@@ -1,39 +1,130 @@
 package com.vsk.employee_management_webapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.vsk.employee_management_webapp.changes.EmployeeChangeFeed;
+import com.vsk.employee_management_webapp.dto.ArchivedEmployeeResponse;
+import com.vsk.employee_management_webapp.dto.BulkOperationResponse;
+import com.vsk.employee_management_webapp.dto.CountMode;
+import com.vsk.employee_management_webapp.dto.CursorPageResponse;
+import com.vsk.employee_management_webapp.dto.EmployeeBatchResponse;
+import com.vsk.employee_management_webapp.dto.EmployeeCursor;
+import com.vsk.employee_management_webapp.dto.EmployeePatchRequest;
 import com.vsk.employee_management_webapp.dto.EmployeeRequest;
 import com.vsk.employee_management_webapp.dto.EmployeeResponse;
 import com.vsk.employee_management_webapp.dto.PaginatedResponse;
+import com.vsk.employee_management_webapp.exception.PreconditionRequiredException;
 import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
 
 @Tag(name = "Employees", description = "Manage employee records")
 @RestController
 @RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // ReactiveEmployeeController serves these paths on WebFlux
 @Slf4j
 public class EmployeeController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    // Clients may keep a copy but must revalidate it with the ETag before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final EmployeeChangeFeed employeeChangeFeed;
+    private final boolean requireIfMatch;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper, EmployeeChangeFeed employeeChangeFeed,
+                              @Value("${employee_app.employees.requireIfMatch:false}") boolean requireIfMatch) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.employeeChangeFeed = employeeChangeFeed;
+        this.requireIfMatch = requireIfMatch;
         log.debug("EmployeeController initialized.");
     }
 
-    @Operation(summary = "Get paginated employees", description = "Returns employee data page-wise")
+    @Operation(summary = "Get paginated employees", description = "Returns employee data page-wise; countMode=exact|cached|none controls how the total is computed")
     @GetMapping
-    public ResponseEntity<PaginatedResponse<EmployeeResponse>> getAllPaginatedEmployees(Pageable pageable) {
-        log.debug("Fetching employees with Pageable: {}", pageable);
-        Page<EmployeeResponse> page = employeeService.getPaginatedEmployees(pageable);
+    public ResponseEntity<PaginatedResponse<EmployeeResponse>> getAllPaginatedEmployees(
+            @PageableDefault(size = 20, sort = "id") Pageable pageable, // Stable page boundaries, served by the primary key
+            @RequestParam(defaultValue = "exact") String countMode) {
+        log.debug("Fetching employees with Pageable: {}, countMode: {}", pageable, countMode);
+        Slice<EmployeeResponse> slice = employeeService.getPaginatedEmployees(pageable, CountMode.from(countMode));
+        PaginatedResponse<EmployeeResponse> response = slice instanceof Page<EmployeeResponse> page
+                ? new PaginatedResponse<>(
+                        page.getContent(),
+                        page.getNumber(),
+                        page.getSize(),
+                        page.getTotalElements(),
+                        page.getTotalPages(),
+                        page.isLast())
+                : new PaginatedResponse<>(
+                        slice.getContent(),
+                        slice.getNumber(),
+                        slice.getSize(),
+                        null,
+                        null,
+                        slice.isLast());
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(EmployeeETags.of(response)) // A matching If-None-Match gets a 304 without a body
+                .body(response);
+    }
+
+    @Operation(summary = "Get employees by cursor", description = "Returns the page after the given cursor using keyset pagination; pass an empty cursor for the first page")
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponse<EmployeeResponse>> getEmployeesAfterCursor(@RequestParam String after, Pageable pageable) {
+        EmployeeCursor cursor = EmployeeCursor.decode(after, pageable.getSort());
+        log.debug("Fetching employees after cursor {} with size {}", after, pageable.getPageSize());
+        Window<EmployeeResponse> window = employeeService.getEmployeesAfter(cursor.position(), cursor.sort(), pageable.getPageSize());
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? cursor.next(window.positionAt(window.size() - 1))
+                : null;
+        CursorPageResponse<EmployeeResponse> response = new CursorPageResponse<>(
+                window.getContent(),
+                pageable.getPageSize(),
+                nextCursor,
+                nextCursor == null
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Search employees", description = "Ranked prefix search over first name, last name and email")
+    @GetMapping("/search")
+    public ResponseEntity<PaginatedResponse<EmployeeResponse>> searchEmployees(@RequestParam String q, Pageable pageable) {
+        log.debug("Searching employees for: {}", q);
+        Page<EmployeeResponse> page = employeeService.searchEmployees(q, pageable);
         PaginatedResponse<EmployeeResponse> response = new PaginatedResponse<>(
                 page.getContent(),
                 page.getNumber(),
@@ -42,17 +133,63 @@ public class EmployeeController {
                 page.getTotalPages(),
                 page.isLast()
         );
-        log.info("Returned {} employees", page.getTotalElements());
         return ResponseEntity.ok(response);
     }
 
     @Operation(summary = "Get all employees", description = "Returns all employees (non-paginated)")
     @GetMapping("/all")
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
+    public ResponseEntity<List<EmployeeResponse>> getAllEmployees(WebRequest webRequest) {
+        String etag = EmployeeETags.ofAll(employeeService.getAllEmployeesVersion(), "json");
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 already set up, without loading any employees
+        }
         log.debug("Fetching all employees");
         List<EmployeeResponse> employees = employeeService.getAllEmployees();
-        log.info("Returned {} employees", employees.size());
-        return ResponseEntity.ok(employees);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE) // checkNotModified has already written the ETag header
+                .body(employees);
+    }
+
+    @Operation(summary = "Export all employees", description = "Streams all employees as NDJSON or CSV, picked by the Accept header")
+    @GetMapping(value = "/all", produces = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportAllEmployees(@RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                                                    WebRequest webRequest) {
+        boolean csv = MediaType.parseMediaTypes(accept).stream()
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .filter(type -> type.isCompatibleWith(MediaType.APPLICATION_NDJSON) || type.isCompatibleWith(TEXT_CSV))
+                .findFirst()
+                .map(type -> !type.isCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .orElse(false);
+        MediaType format = csv ? new MediaType(TEXT_CSV, StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON;
+        String etag = EmployeeETags.ofAll(employeeService.getAllEmployeesVersion(), csv ? "csv" : "ndjson");
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 already set up, without starting the export
+        }
+        log.debug("Exporting all employees as {}", format);
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writeCsv(writer);
+            } else {
+                writeNdjson(writer);
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE) // checkNotModified has already written the ETag header
+                .contentType(format)
+                .body(body);
+    }
+
+    @Operation(summary = "Stream employee changes", description = "Server-sent events for every committed create, update and delete; reconnect with Last-Event-ID to resume")
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("Subscribing to employee changes after {}", lastEventId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no") // Keep reverse proxies from holding events back
+                .body(employeeChangeFeed.subscribe(lastEventId));
     }
 
     @Operation(summary = "Add new employee", description = "Create a new employee record")
@@ -60,34 +197,149 @@ public class EmployeeController {
     public ResponseEntity<EmployeeResponse> addEmployee(@Valid @RequestBody EmployeeRequest request) {
         log.debug("Adding new employee: {}", request.email());
         EmployeeResponse saved = employeeService.saveEmployee(request);
-        log.info("Employee created with ID: {}", saved.id());
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Add employees in bulk", description = "Create many employee records from a JSON array or an NDJSON stream, saved in chunked batches")
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<EmployeeBatchResponse> addEmployeesBatch(InputStream body) throws IOException {
+        log.debug("Adding employees in bulk");
+        try (MappingIterator<EmployeeRequest> requests = objectMapper.readerFor(EmployeeRequest.class).readValues(body)) {
+            EmployeeBatchResponse result = employeeService.saveEmployees(requests);
+            return new ResponseEntity<>(result, result.failed() == 0 && result.inputError() == null ? HttpStatus.OK : HttpStatus.MULTI_STATUS);
+        }
+    }
+
     @Operation(summary = "Get employee by ID", description = "Fetch employee details using ID")
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id) {
         log.debug("Fetching employee by ID: {}", id);
         EmployeeResponse employee = employeeService.getEmployeeById(id);
-        log.info("Employee found for ID: {}", id);
-        return ResponseEntity.ok(employee);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(EmployeeETags.of(employee)) // A matching If-None-Match gets a 304 without a body
+                .body(employee);
     }
 
-    @Operation(summary = "Update employee", description = "Modify an existing employee record")
+    @Operation(summary = "Update employee", description = "Modify an existing employee record; with If-Match the update only applies if the ETag is still current (412 otherwise)")
     @PutMapping("/{id}")
-    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeRequest request) {
+    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeRequest request,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("Updating employee with ID: {}", id);
-        EmployeeResponse updated = employeeService.updateEmployee(id, request);
-        log.info("Employee updated with ID: {}", id);
-        return ResponseEntity.ok(updated);
+        if (ifMatch == null && requireIfMatch) {
+            throw new PreconditionRequiredException("Updating employee " + id + " requires an If-Match header with its ETag");
+        }
+        Long expectedVersion = ifMatch != null ? EmployeeETags.versionOf(ifMatch) : null;
+        EmployeeResponse updated = expectedVersion != null
+                ? employeeService.updateEmployee(id, expectedVersion, request)
+                : employeeService.updateEmployee(id, request);
+        return ResponseEntity.ok()
+                .eTag(EmployeeETags.of(updated))
+                .body(updated);
+    }
+
+    @Operation(summary = "Restore employee", description = "Bring back a deleted employee at its next version, from the archive if it has been moved there")
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<EmployeeResponse> restoreEmployee(@PathVariable Long id) {
+        log.debug("Restoring employee with ID: {}", id);
+        EmployeeResponse restored = employeeService.restoreEmployee(id);
+        return ResponseEntity.ok()
+                .eTag(EmployeeETags.of(restored))
+                .body(restored);
+    }
+
+    @Operation(summary = "Get deleted employees", description = "Returns deleted employees newest ID first, whether archived yet or not, optionally only those with the given email; pass nextCursor as before for the next page")
+    @GetMapping("/archive")
+    public ResponseEntity<CursorPageResponse<ArchivedEmployeeResponse>> getDeletedEmployees(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Long before,
+            @PageableDefault(size = 50) Pageable pageable) {
+        log.debug("Fetching deleted employees before {} with email {}", before, email);
+        Slice<ArchivedEmployeeResponse> slice = employeeService.getDeletedEmployees(email, before, pageable.getPageSize());
+        String nextCursor = slice.hasNext() ? String.valueOf(slice.getContent().getLast().id()) : null;
+        CursorPageResponse<ArchivedEmployeeResponse> response = new CursorPageResponse<>(
+                slice.getContent(),
+                pageable.getPageSize(),
+                nextCursor,
+                nextCursor == null
+        );
+        return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Delete employee", description = "Remove an employee record by ID")
+    @Operation(summary = "Delete employee", description = "Remove an employee record by ID; the record is archived and can be restored")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
         log.debug("Deleting employee with ID: {}", id);
         employeeService.deleteEmployeeById(id);
-        log.info("Employee deleted with ID: {}", id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Delete employees in bulk", description = "Remove all listed employee records in set-based statements")
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<BulkOperationResponse> deleteEmployees(@RequestParam List<Long> ids) {
+        log.debug("Deleting {} employees", ids.size());
+        BulkOperationResponse result = employeeService.deleteEmployeesByIds(ids);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Patch employees in bulk", description = "Apply partial updates to many employee records; omitted fields keep their values")
+    @PatchMapping
+    public ResponseEntity<BulkOperationResponse> patchEmployees(@RequestBody List<EmployeePatchRequest> patches) {
+        log.debug("Patching {} employees", patches.size());
+        BulkOperationResponse result = employeeService.patchEmployees(patches);
+        return ResponseEntity.ok(result);
+    }
+
+    private void writeNdjson(Writer writer) throws IOException {
+        int[] written = {0};
+        try (SequenceWriter sequence = objectMapper.writerFor(EmployeeResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer)) {
+            employeeService.streamAllEmployees(employee -> {
+                try {
+                    sequence.write(employee);
+                    written[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        // The separator only goes between rows; terminate the last line as well
+        if (written[0] > 0) {
+            writer.write('\n');
+        }
+    }
+
+    private void writeCsv(Writer writer) throws IOException {
+        writer.write("id,firstName,lastName,email\n");
+        employeeService.streamAllEmployees(employee -> {
+            try {
+                writer.write(String.valueOf(employee.id()));
+                writer.write(',');
+                writeCsvField(writer, employee.firstName());
+                writer.write(',');
+                writeCsvField(writer, employee.lastName());
+                writer.write(',');
+                writeCsvField(writer, employee.email());
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Quote a CSV field only when it contains a delimiter, quote or line break (RFC 4180)
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
 }
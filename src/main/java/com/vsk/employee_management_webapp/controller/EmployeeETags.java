@@ -0,0 +1,77 @@
+package com.vsk.employee_management_webapp.controller;
+
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.dto.PaginatedResponse;
+import com.vsk.employee_management_webapp.exception.BadRequestException;
+import org.springframework.http.ETag;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * ETags for employee responses, computed from IDs and versions so a client's If-None-Match
+ * can be answered with 304 before anything is serialized
+ */
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static String of(EmployeeResponse employee) {
+        return "\"" + employee.version() + "\"";
+    }
+
+    // Covers the page position, the totals and each row's ID and version, in order
+    static String of(PaginatedResponse<EmployeeResponse> page) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * (4 + 2 * page.content().size()));
+        buffer.putLong(page.pageNo())
+                .putLong(page.pageSize())
+                .putLong(page.totalElements() != null ? page.totalElements() : -1)
+                .putLong(page.last() ? 1 : 0);
+        for (EmployeeResponse employee : page.content()) {
+            buffer.putLong(employee.id()).putLong(employee.version());
+        }
+        return "\"" + digest(buffer.array()) + "\"";
+    }
+
+    /**
+     * Version named by an If-Match header, or null for "*", which any existing employee satisfies.
+     * Weak or foreign tags can never match under If-Match's strong comparison, so they map to -1.
+     */
+    static Long versionOf(String ifMatch) {
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.size() != 1) {
+            throw new BadRequestException("If-Match must carry exactly one employee ETag");
+        }
+        ETag tag = tags.get(0);
+        if (tag.isWildcard()) {
+            return null;
+        }
+        if (tag.weak()) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.tag());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // Weak: derived from a table fingerprint rather than the bytes of the representation
+    static String ofAll(String tableVersion, String format) {
+        return "W/\"" + tableVersion + "-" + format + "\"";
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.vsk.employee_management_webapp.controller;
+
+import com.vsk.employee_management_webapp.dto.JwtResponse;
+import com.vsk.employee_management_webapp.dto.LoginRequest;
+import com.vsk.employee_management_webapp.dto.UserRegistrationRequest;
+import com.vsk.employee_management_webapp.security.AuthScheduler;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import com.vsk.employee_management_webapp.service.serviceInterface.UserService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Login and registration for the reactive profile, answering like {@link AuthController} and
+ * {@link UserRegistrationController}. User storage is still JPA, so its calls run on the
+ * bounded {@link AuthScheduler} rather than on an event loop thread.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveAuthController {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final JwtUtils jwtUtils;
+    private final UserService userService;
+    private final AuthScheduler authScheduler;
+
+    public ReactiveAuthController(ReactiveAuthenticationManager authenticationManager, JwtUtils jwtUtils, UserService userService,
+                                  AuthScheduler authScheduler) {
+        this.authenticationManager = authenticationManager;
+        this.jwtUtils = jwtUtils;
+        this.userService = userService;
+        this.authScheduler = authScheduler;
+        log.info("ReactiveAuthController initialized.");
+    }
+
+    @PostMapping("/api/auth/login")
+    public Mono<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        log.debug("Attempting to authenticate user: {}", loginRequest.email());
+        return authScheduler.failFast(authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(loginRequest.email(), loginRequest.password())))
+                .map(authentication -> new JwtResponse(jwtUtils.generateJwtToken(authentication), "Bearer"));
+    }
+
+    @PostMapping("/api/register")
+    public Mono<ResponseEntity<String>> registerUserAccount(@Valid @RequestBody UserRegistrationRequest registrationRequest) {
+        log.debug("Received user registration request for email: {}", registrationRequest.email());
+        return authScheduler.fromCallable(() -> userService.save(registrationRequest))
+                .map(user -> new ResponseEntity<>("User registered successfully!", HttpStatus.CREATED))
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.debug("Rejected user registration: {}", e.getMessage());
+                    return Mono.just(new ResponseEntity<>("Error registering user: " + e.getMessage(), HttpStatus.CONFLICT));
+                });
+    }
+}
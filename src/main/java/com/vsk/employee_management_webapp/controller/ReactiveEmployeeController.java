@@ -0,0 +1,155 @@
+package com.vsk.employee_management_webapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vsk.employee_management_webapp.dto.EmployeeRequest;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.dto.PaginatedResponse;
+import com.vsk.employee_management_webapp.exception.PreconditionRequiredException;
+import com.vsk.employee_management_webapp.service.serviceInterface.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * The employee API of {@link EmployeeController} on WebFlux, for the reactive profile: the
+ * same paths, status codes and ETags, without the bulk, search, cursor and CSV endpoints
+ */
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveEmployeeController {
+
+    // Clients may keep a copy but must revalidate it with the ETag before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final int EXPORT_BATCH_SIZE = 256;
+
+    private final ReactiveEmployeeService employeeService;
+    private final ObjectWriter employeeWriter;
+    private final boolean requireIfMatch;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService, ObjectMapper objectMapper,
+                                      @Value("${employee_app.employees.requireIfMatch:false}") boolean requireIfMatch) {
+        this.employeeService = employeeService;
+        this.employeeWriter = objectMapper.writerFor(EmployeeResponse.class);
+        this.requireIfMatch = requireIfMatch;
+        log.debug("ReactiveEmployeeController initialized.");
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<PaginatedResponse<EmployeeResponse>>> getAllPaginatedEmployees(
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        log.debug("Fetching employees with Pageable: {}", pageable);
+        return employeeService.getPaginatedEmployees(pageable)
+                .map(page -> new PaginatedResponse<>(
+                        page.getContent(),
+                        page.getNumber(),
+                        page.getSize(),
+                        page.getTotalElements(),
+                        page.getTotalPages(),
+                        page.isLast()))
+                .map(response -> ResponseEntity.ok()
+                        .cacheControl(REVALIDATE)
+                        .eTag(EmployeeETags.of(response)) // A matching If-None-Match gets a 304 without a body
+                        .body(response));
+    }
+
+    /**
+     * The whole table as a JSON array, written as rows arrive
+     */
+    @GetMapping("/all")
+    public Flux<EmployeeResponse> getAllEmployees() {
+        log.debug("Fetching all employees");
+        return employeeService.streamAllEmployees();
+    }
+
+    /**
+     * The whole table as NDJSON. Rows are requested from the database a batch at a time as the
+     * client reads, so a slow client slows the query instead of buffering the table; each batch
+     * is one write and flush rather than one per row.
+     */
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DataBuffer> exportAllEmployees(ServerHttpResponse response) {
+        log.debug("Exporting all employees as {}", MediaType.APPLICATION_NDJSON);
+        DataBufferFactory bufferFactory = response.bufferFactory();
+        return employeeService.streamAllEmployees()
+                .buffer(EXPORT_BATCH_SIZE)
+                .map(batch -> toNdjson(batch, bufferFactory));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<EmployeeResponse> addEmployee(@Valid @RequestBody EmployeeRequest request) {
+        log.debug("Adding new employee: {}", request.email());
+        return employeeService.saveEmployee(request);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeResponse>> getEmployeeById(@PathVariable Long id) {
+        log.debug("Fetching employee by ID: {}", id);
+        return employeeService.getEmployeeById(id)
+                .map(employee -> ResponseEntity.ok()
+                        .cacheControl(REVALIDATE)
+                        .eTag(EmployeeETags.of(employee))
+                        .body(employee));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeResponse>> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeRequest request,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Updating employee with ID: {}", id);
+        if (ifMatch == null && requireIfMatch) {
+            return Mono.error(new PreconditionRequiredException("Updating employee " + id + " requires an If-Match header with its ETag"));
+        }
+        Long expectedVersion = ifMatch != null ? EmployeeETags.versionOf(ifMatch) : null;
+        return (expectedVersion != null
+                ? employeeService.updateEmployee(id, expectedVersion, request)
+                : employeeService.updateEmployee(id, request))
+                .map(updated -> ResponseEntity.ok()
+                        .eTag(EmployeeETags.of(updated))
+                        .body(updated));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable Long id) {
+        log.debug("Deleting employee with ID: {}", id);
+        return employeeService.deleteEmployeeById(id)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    private DataBuffer toNdjson(List<EmployeeResponse> employees, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(128 * employees.size());
+        try (OutputStream out = buffer.asOutputStream()) {
+            for (EmployeeResponse employee : employees) {
+                out.write(employeeWriter.writeValueAsBytes(employee));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+}
@@ -1,9 +1,11 @@
 package com.vsk.employee_management_webapp.controller;
 
 import com.vsk.employee_management_webapp.dto.UserRegistrationRequest;
+import com.vsk.employee_management_webapp.exception.ServiceSaturatedException;
 import com.vsk.employee_management_webapp.model.User;
 import com.vsk.employee_management_webapp.service.serviceInterface.UserService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +13,7 @@ import jakarta.validation.Valid;
 
 @RestController // Changed to RestController
 @RequestMapping("/api/register") // RESTful endpoint
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // ReactiveAuthController on WebFlux
 @Slf4j // For SLF4J logging
 public class UserRegistrationController {
 
@@ -23,11 +26,16 @@ public class UserRegistrationController {
 
     @PostMapping // Handles POST requests to /api/register
     public ResponseEntity<String> registerUserAccount(@Valid @RequestBody UserRegistrationRequest registrationRequest) {
-        log.info("Received user registration request for email: {}", registrationRequest.email());
+        log.debug("Received user registration request for email: {}", registrationRequest.email());
         try {
             userService.save(registrationRequest);
-            log.info("User registered successfully: {}", registrationRequest.email());
+            log.debug("User registered successfully: {}", registrationRequest.email());
             return new ResponseEntity<>("User registered successfully!", HttpStatus.CREATED);
+        } catch (ServiceSaturatedException e) {
+            throw e; // Answered with 503 and Retry-After by GlobalExceptionHandler
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected user registration: {}", e.getMessage());
+            return new ResponseEntity<>("Error registering user: " + e.getMessage(), HttpStatus.CONFLICT);
         } catch (Exception e) {
             log.error("Error during user registration for email {}: {}", registrationRequest.email(), e.getMessage());
             return new ResponseEntity<>("Error registering user: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,15 @@
+package com.vsk.employee_management_webapp.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose reads must not lag behind recent writes (e.g. login right after
+ * registration), so its read-only transactions use the primary even when a replica is configured
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
@@ -0,0 +1,25 @@
+package com.vsk.employee_management_webapp.datasource;
+
+/**
+ * Per-thread switch that sends read-only transactions to the primary instead of the replica,
+ * for reads that must see writes the replica may not have applied yet
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static void pinToPrimary() {
+        PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY.remove();
+    }
+}
@@ -0,0 +1,69 @@
+package com.vsk.employee_management_webapp.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes for replica routing: after a user's successful write, that user's reads
+ * go to the primary for the stickiness window, which should cover the replica's usual lag.
+ * Handlers marked {@link ReadFromPrimary} always read from the primary.
+ */
+@Slf4j
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(Duration stickiness, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(stickiness)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String user = currentUser();
+        boolean annotated = handler instanceof HandlerMethod method && method.hasMethodAnnotation(ReadFromPrimary.class);
+        if (annotated || (user != null && recentWriters.getIfPresent(user) != null)) {
+            ReadRouting.pinToPrimary();
+            log.debug("Reads for this request go to the primary");
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            String user = currentUser();
+            if (user != null && !SAFE_METHODS.contains(request.getMethod()) && ex == null && response.getStatus() < 400) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        } finally {
+            ReadRouting.clear();
+        }
+    }
+
+    // The request thread is released while an async handler (e.g. a streaming export) runs elsewhere
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRouting.clear();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.vsk.employee_management_webapp.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target for read-only connections: the replica, unless the current thread is pinned to the primary.
+ * The key is resolved when the connection is actually fetched, which LazyConnectionDataSourceProxy
+ * defers until the first statement of the transaction.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ReadRouting.isPinnedToPrimary() ? PRIMARY : REPLICA;
+    }
+}
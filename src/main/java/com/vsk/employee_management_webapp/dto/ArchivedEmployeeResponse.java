@@ -0,0 +1,19 @@
+package com.vsk.employee_management_webapp.dto;
+
+import java.time.Instant;
+
+public record ArchivedEmployeeResponse(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        long version, // As deleted; a restore continues from here
+        Instant deletedAt,
+        Instant archivedAt // null while the employee waits in the live table to be archived
+) {
+
+    // A soft-deleted employee not archived yet
+    public ArchivedEmployeeResponse(Long id, String firstName, String lastName, String email, long version, Instant deletedAt) {
+        this(id, firstName, lastName, email, version, deletedAt, null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.vsk.employee_management_webapp.dto;
+
+public record BulkOperationResponse(
+        int requested,
+        int affected // rows actually changed; IDs that do not exist are not counted
+) {}
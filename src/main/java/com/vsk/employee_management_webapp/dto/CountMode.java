@@ -0,0 +1,22 @@
+package com.vsk.employee_management_webapp.dto;
+
+import com.vsk.employee_management_webapp.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * How the total of a paginated listing is obtained
+ */
+public enum CountMode {
+    EXACT,  // COUNT(*) next to every page query
+    CACHED, // approximate total from EmployeeCountCache
+    NONE;   // no total at all, only whether a next page exists
+
+    public static CountMode from(String value) {
+        try {
+            return CountMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported countMode: " + value + " (expected exact, cached or none)");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.vsk.employee_management_webapp.dto;
+
+import java.util.List;
+
+// Keyset-paginated variant of PaginatedResponse: no totals, just the cursor for the next page
+public record CursorPageResponse<T>(
+        List<T> content,
+        int pageSize,
+        String nextCursor, // null on the last page
+        boolean last
+) {}
@@ -0,0 +1,15 @@
+package com.vsk.employee_management_webapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+public record EmployeeAuditResponse(
+        Long id,
+        long employeeId,
+        String action,
+        String actor,
+        Instant changedAt,
+        long version,
+        @JsonRawValue String changes // {"field": {"from": ..., "to": ...}} per changed field, stored as JSON
+) {}
@@ -0,0 +1,25 @@
+package com.vsk.employee_management_webapp.dto;
+
+import java.util.List;
+
+public record EmployeeBatchResponse(
+        int received,
+        int saved,
+        int failed,
+        List<ChunkResult> chunks,
+        String inputError // set when the body could not be read to the end; rows before it were still processed
+) {
+
+    public record ChunkResult(
+            int chunk,
+            int offset, // index of the chunk's first record in the request body
+            int size,
+            int saved,
+            List<RowError> errors
+    ) {}
+
+    public record RowError(
+            int index, // index of the record in the request body
+            String message
+    ) {}
+}
@@ -0,0 +1,19 @@
+package com.vsk.employee_management_webapp.dto;
+
+/**
+ * One committed change in the employee change feed; employee is null for deletes. The version
+ * is the employee's version after the change, deletes included, so a client can discard a change
+ * that arrives after a newer one to the same employee.
+ */
+public record EmployeeChangeEvent(
+        long sequence,
+        Type type,
+        long id,
+        long version,
+        EmployeeResponse employee
+) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,105 @@
+package com.vsk.employee_management_webapp.dto;
+
+import com.vsk.employee_management_webapp.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque keyset cursor for employee listings. It carries the sort order and the
+ * (sortKey, id) pair of the last row served, so the next page can seek straight past it.
+ */
+public record EmployeeCursor(
+        Sort.Order order,
+        String sortKey, // null when sorting by id, or when the last row had no value for the sort property
+        Long id // null for the first page
+) {
+
+    private static final String ID = "id";
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(ID, "firstName", "lastName", "email");
+
+    /**
+     * Cursor for the first page of the given sort; only the first sort order is used
+     */
+    public static EmployeeCursor first(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+        if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new BadRequestException("Unsupported sort property for cursor pagination: " + order.getProperty());
+        }
+        return new EmployeeCursor(order, null, null);
+    }
+
+    /**
+     * Decode a cursor previously returned as nextCursor; an empty value means the first page
+     */
+    public static EmployeeCursor decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return first(sort);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            String property = in.readUTF();
+            if (!SORTABLE_PROPERTIES.contains(property)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            Sort.Direction direction = in.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+            long id = in.readLong();
+            String sortKey = !ID.equals(property) && in.readBoolean() ? in.readUTF() : null;
+            if (in.available() > 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new EmployeeCursor(new Sort.Order(direction, property), sortKey, id);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    public Sort sort() {
+        return Sort.by(order);
+    }
+
+    public ScrollPosition position() {
+        if (id == null) {
+            return ScrollPosition.keyset();
+        }
+        if (ID.equals(order.getProperty())) {
+            return ScrollPosition.forward(Map.of(ID, id));
+        }
+        Map<String, Object> keys = new LinkedHashMap<>(); // Map.of rejects a null sort key
+        keys.put(order.getProperty(), sortKey);
+        keys.put(ID, id);
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Encode the position of the last row of a page as the cursor for the page after it
+     */
+    public String next(ScrollPosition position) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(order.getProperty());
+            out.writeBoolean(order.isAscending());
+            out.writeLong(((Number) keys.get(ID)).longValue());
+            if (!ID.equals(order.getProperty())) {
+                Object sortKey = keys.get(order.getProperty());
+                out.writeBoolean(sortKey != null); // A null key is a flag, so it cannot be confused with the text "null"
+                if (sortKey != null) {
+                    out.writeUTF(sortKey.toString());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,18 @@
+package com.vsk.employee_management_webapp.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+// Partial update of one employee: null fields are left unchanged
+public record EmployeePatchRequest(
+        @NotNull(message = "ID is required")
+        Long id,
+        @Pattern(regexp = ".*\\S.*", message = "First name must not be blank")
+        String firstName,
+        @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank")
+        String lastName,
+        @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+        @Email(message = "Invalid email format")
+        String email
+) {}
@@ -4,5 +4,6 @@ public record EmployeeResponse(
         Long id,
         String firstName,
         String lastName,
-        String email
+        String email,
+        long version
 ) {}
@@ -0,0 +1,15 @@
+package com.vsk.employee_management_webapp.dto;
+
+/**
+ * Cheap fingerprint of the whole employees table, used to validate full-list responses
+ * without reading every row
+ */
+public record EmployeeTableVersion(
+        Long rows,
+        Long versionSum,
+        Long idSum
+) {
+    public String token() {
+        return rows + "-" + versionSum + "-" + idSum;
+    }
+}
@@ -6,7 +6,7 @@ public record PaginatedResponse<T>(
         List<T> content,
         int pageNo,
         int pageSize,
-        long totalElements,
-        int totalPages,
+        Long totalElements, // null when requested with countMode=none
+        Integer totalPages, // null when requested with countMode=none
         boolean last
 ) {}
@@ -0,0 +1,14 @@
+package com.vsk.employee_management_webapp.exception;
+
+/**
+ * A parameter, header or body the client has to fix, such as an invalid cursor or patch; answered with 400
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
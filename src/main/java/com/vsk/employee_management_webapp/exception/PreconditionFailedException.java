@@ -0,0 +1,10 @@
+package com.vsk.employee_management_webapp.exception;
+
+/**
+ * A conditional request's precondition (If-Match) does not hold for the current state of the resource
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String resource, Object id) {
+        super(String.format("%s %s has been modified since the given version", resource, id));
+    }
+}
@@ -0,0 +1,10 @@
+package com.vsk.employee_management_webapp.exception;
+
+/**
+ * A write that must be conditional arrived without an If-Match header
+ */
+public class PreconditionRequiredException extends RuntimeException {
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.vsk.employee_management_webapp.exception;
+
+/**
+ * A request ran more SQL statements than its budget allows, or repeated the same SELECT
+ * (thrown only when employee_app.queryCount.failOverBudget=true, after the response has been
+ * sent, so it fails tests rather than the request)
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,97 @@
+package com.vsk.employee_management_webapp.exception;
+
+import com.vsk.employee_management_webapp.exception.GlobalExceptionHandler.ErrorDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The error responses of {@link GlobalExceptionHandler} for the reactive profile
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorDetails> handleBadRequestException(BadRequestException ex, ServerWebExchange exchange) {
+        log.warn("Bad request: {}", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage(), exchange, "BAD_REQUEST");
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorDetails> handleAuthenticationException(AuthenticationException ex, ServerWebExchange exchange) {
+        log.debug("Authentication failed: {}", ex.getMessage());
+        return error(HttpStatus.UNAUTHORIZED, ex.getMessage(), exchange, "UNAUTHORIZED");
+    }
+
+    @ExceptionHandler(ServiceSaturatedException.class)
+    public ResponseEntity<ErrorDetails> handleServiceSaturatedException(ServiceSaturatedException ex, ServerWebExchange exchange) {
+        log.warn("Service saturated: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(details(ex.getMessage(), exchange, "SERVICE_UNAVAILABLE", null));
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorDetails> handleResourceNotFoundException(ResourceNotFoundException ex, ServerWebExchange exchange) {
+        log.debug("Not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, ex.getMessage(), exchange, "NOT_FOUND");
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDetails> handlePreconditionFailedException(PreconditionFailedException ex, ServerWebExchange exchange) {
+        log.debug("Precondition failed: {}", ex.getMessage());
+        return error(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), exchange, "PRECONDITION_FAILED");
+    }
+
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ResponseEntity<ErrorDetails> handlePreconditionRequiredException(PreconditionRequiredException ex, ServerWebExchange exchange) {
+        log.debug("Precondition required: {}", ex.getMessage());
+        return error(HttpStatus.PRECONDITION_REQUIRED, ex.getMessage(), exchange, "PRECONDITION_REQUIRED");
+    }
+
+    // A write hit a unique constraint, e.g. an email that another employee already uses
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorDetails> handleDataIntegrityViolationException(DataIntegrityViolationException ex, ServerWebExchange exchange) {
+        log.debug("Constraint violation: {}", ex.getMostSpecificCause().getMessage());
+        return error(HttpStatus.CONFLICT, "The request conflicts with an existing record", exchange, "CONFLICT");
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDetails> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, ServerWebExchange exchange) {
+        log.debug("Concurrent modification: {}", ex.getMessage());
+        return error(HttpStatus.CONFLICT, "The resource was modified concurrently; reload it and retry", exchange, "CONFLICT");
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorDetails> handleWebExchangeBindException(WebExchangeBindException ex, ServerWebExchange exchange) {
+        log.warn("Validation error: {}", ex.getMessage());
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage()));
+        return new ResponseEntity<>(details("Validation Failed", exchange, "BAD_REQUEST", errors), HttpStatus.BAD_REQUEST);
+    }
+
+    private static ResponseEntity<ErrorDetails> error(HttpStatus status, String message, ServerWebExchange exchange, String errorCode) {
+        return new ResponseEntity<>(details(message, exchange, errorCode, null), status);
+    }
+
+    // Same details format as WebRequest.getDescription(false) on the servlet stack
+    private static ErrorDetails details(String message, ServerWebExchange exchange, String errorCode, Map<String, String> validationErrors) {
+        return new ErrorDetails(LocalDateTime.now(), message, "uri=" + exchange.getRequest().getPath().value(), errorCode, validationErrors);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vsk.employee_management_webapp.exception;
+
+/**
+ * A bounded resource is at capacity; the request is rejected immediately so the client can retry later
+ */
+public class ServiceSaturatedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceSaturatedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,65 @@
+package com.vsk.employee_management_webapp.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One structured event per sampled request (method, route, status, duration) in place of
+ * per-endpoint INFO lines. Server errors and slow requests are always logged; everything else
+ * at the configured sample rate. Nothing is built for requests that are not logged.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10) // Before security, so rejected requests are timed too
+@Slf4j
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLoggingFilter(@Value("${employee_app.logging.requests.sampleRate:0.01}") double sampleRate,
+                                @Value("${employee_app.logging.requests.slowThresholdMs:1000}") long slowThresholdMs) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int status = response.getStatus();
+            if (log.isInfoEnabled() && (status >= 500 || elapsed >= slowThresholdNanos
+                    || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+                log(request, status, elapsed / 1_000_000);
+            }
+        }
+    }
+
+    private static void log(HttpServletRequest request, int status, long durationMs) {
+        // The matched route template rather than the raw URI keeps IDs and query strings out of the log
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = route != null ? route.toString() : request.getRequestURI();
+        log.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", path)
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMs)
+                .log("{} {} {} {}ms", request.getMethod(), path, status, durationMs);
+    }
+}
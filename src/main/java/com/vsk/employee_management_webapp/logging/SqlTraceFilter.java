@@ -0,0 +1,57 @@
+package com.vsk.employee_management_webapp.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Turns on SQL and bind parameter logging for a single request by an admin (ROLE_ADMIN) that
+ * carries {@code X-Trace-SQL: true}. Bind values include emails and password hashes, so other
+ * users can't switch it on. Runs after the security filter chain, which sets the caller.
+ */
+@Component
+public class SqlTraceFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Trace-SQL";
+    public static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    private final boolean enabled;
+
+    public SqlTraceFilter(@Value("${employee_app.logging.sqlTrace.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled || !"true".equalsIgnoreCase(request.getHeader(HEADER)) || !isAdmin()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(SqlTraceTurboFilter.MDC_KEY, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(SqlTraceTurboFilter.MDC_KEY);
+        }
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(ADMIN_AUTHORITY::equals);
+    }
+}
@@ -0,0 +1,30 @@
+package com.vsk.employee_management_webapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Enables Hibernate's SQL statement and bind parameter loggers for the current thread only,
+ * while {@link #MDC_KEY} is set (see {@link SqlTraceFilter}). Everywhere else the loggers keep
+ * their configured level, so SQL tracing costs nothing unless a request asks for it.
+ */
+public class SqlTraceTurboFilter extends TurboFilter {
+
+    public static final String MDC_KEY = "sqlTrace";
+
+    private static final String SQL_LOGGER = "org.hibernate.SQL";
+    private static final String BIND_LOGGER = "org.hibernate.orm.jdbc.bind";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        String name = logger.getName();
+        if ((name.equals(SQL_LOGGER) || name.equals(BIND_LOGGER)) && MDC.get(MDC_KEY) != null) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,44 @@
+package com.vsk.employee_management_webapp.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered on every Hibernate session (hibernate.session.events.auto); counts each executed
+ * statement or batch against the current request's {@link RequestQueryStats}
+ */
+public class QueryCountingSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ended();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ended();
+    }
+
+    private static void started() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    private static void ended() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementEnded();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.vsk.employee_management_webapp.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered as hibernate.session_factory.statement_inspector; records the text of every
+ * prepared SELECT against the current {@link RequestQueryStats} so repeated ones (N+1) can be
+ * spotted. The SQL is returned unchanged.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && sql.regionMatches(true, 0, "select", 0, 6)) {
+            stats.selectPrepared(sql, 1);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,147 @@
+package com.vsk.employee_management_webapp.metrics;
+
+import com.vsk.employee_management_webapp.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL each request runs:
+ * <ul>
+ *     <li>records request.sql.statements and request.sql.time by method and route</li>
+ *     <li>optionally reports them to the client as X-Query-Count / X-Query-Time (milliseconds),
+ *     as of the moment the response is committed</li>
+ *     <li>warns, or throws when employee_app.queryCount.failOverBudget=true, when a request goes
+ *     over the statement budget or prepares the same SELECT repeatedly (a likely N+1)</li>
+ * </ul>
+ * The budget can only be checked once the request has run all of its SQL, by which time the
+ * response has usually been sent. A thrown violation therefore fails the caller of the filter
+ * chain, i.e. a MockMvc test, and not the client, so failOverBudget is a setting for tests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@Slf4j
+public class RequestQueryFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headers;
+    private final int budget;
+    private final int repeatThreshold;
+    private final boolean failOverBudget;
+    private final List<String> ignoredRoutes; // "METHOD /route" entries
+
+    public RequestQueryFilter(MeterRegistry meterRegistry,
+                              @Value("${employee_app.queryCount.headers:true}") boolean headers,
+                              @Value("${employee_app.queryCount.budget:10}") int budget,
+                              @Value("${employee_app.queryCount.repeatThreshold:3}") int repeatThreshold,
+                              @Value("${employee_app.queryCount.failOverBudget:false}") boolean failOverBudget,
+                              @Value("${employee_app.queryCount.ignoredRoutes:}") List<String> ignoredRoutes) {
+        this.meterRegistry = meterRegistry;
+        this.headers = headers;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+        this.failOverBudget = failOverBudget;
+        this.ignoredRoutes = ignoredRoutes;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        String route;
+        try {
+            filterChain.doFilter(request, headers ? new QueryHeadersResponseWrapper(response, stats) : response);
+            if (headers && !response.isCommitted()) {
+                addHeaders(response, stats); // Bodiless responses never go through the wrapper
+            }
+        } finally {
+            RequestQueryStats.end();
+            route = route(request);
+            record(request.getMethod(), route, stats);
+        }
+        checkBudget(request.getMethod(), route, stats);
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return route != null ? route.toString() : "UNKNOWN";
+    }
+
+    private void record(String method, String route, RequestQueryStats stats) {
+        DistributionSummary.builder("request.sql.statements")
+                .description("SQL statements executed per request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("request.sql.time")
+                .description("Time spent executing SQL statements per request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void checkBudget(String method, String route, RequestQueryStats stats) {
+        if (ignoredRoutes.contains(method + " " + route)) {
+            return;
+        }
+        if (stats.statements() > budget) {
+            violation("%s %s ran %d SQL statements, over the budget of %d".formatted(method, route, stats.statements(), budget));
+        }
+        for (Map.Entry<String, Integer> select : stats.selects().entrySet()) {
+            if (select.getValue() >= repeatThreshold) {
+                violation("Possible N+1 in %s %s: the same SELECT ran %d times: %s"
+                        .formatted(method, route, select.getValue(), select.getKey()));
+            }
+        }
+    }
+
+    // Thrown after the response, so only a test calling the filter chain directly sees the failure
+    private void violation(String message) {
+        if (failOverBudget) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private static void addHeaders(HttpServletResponse response, RequestQueryStats stats) {
+        response.setHeader(QUERY_COUNT_HEADER, Integer.toString(stats.statements()));
+        response.setHeader(QUERY_TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.nanos() / 1e6));
+    }
+
+    private static final class QueryHeadersResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final RequestQueryStats stats;
+
+        QueryHeadersResponseWrapper(HttpServletResponse response, RequestQueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addHeaders(this, stats);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.vsk.employee_management_webapp.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC statements executed (and time spent executing them) by the current thread, fed by
+ * {@link QueryCountingSessionListener} and {@link QueryCountingStatementInspector} between
+ * {@link #begin()} and {@link #end()}. Scopes nest: ending an inner scope adds its counts to
+ * the enclosing one, so a test can measure around a whole request.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final RequestQueryStats parent;
+    private int statements;
+    private long nanos;
+    private long startedAt;
+    private Map<String, Integer> selects; // Prepared SELECTs by SQL text, for N+1 detection
+
+    private RequestQueryStats(RequestQueryStats parent) {
+        this.parent = parent;
+    }
+
+    public static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        if (stats.parent == null) {
+            CURRENT.remove();
+            return;
+        }
+        stats.parent.statements += stats.statements;
+        stats.parent.nanos += stats.nanos;
+        stats.selects().forEach(stats.parent::selectPrepared);
+        CURRENT.set(stats.parent);
+    }
+
+    // Null when the current thread is not inside a tracked scope
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statementStarted() {
+        startedAt = System.nanoTime();
+    }
+
+    void statementEnded() {
+        statements++;
+        nanos += System.nanoTime() - startedAt;
+    }
+
+    void selectPrepared(String sql, int times) {
+        if (selects == null) {
+            selects = new HashMap<>();
+        }
+        selects.merge(sql, times, Integer::sum);
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public Map<String, Integer> selects() {
+        return selects == null ? Collections.emptyMap() : selects;
+    }
+}
@@ -0,0 +1,46 @@
+package com.vsk.employee_management_webapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A deleted employee moved out of the live table by EmployeeArchiver; rows are only ever
+ * inserted by the archiver and removed again by a restore, both in plain SQL
+ */
+@Entity
+@Table(name = "employees_archive")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class ArchivedEmployee {
+
+    @Id
+    private Long id;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    private long version;
+
+    @Column(name = "deleted_at")
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    private Instant deletedAt;
+
+    @Column(name = "archived_at")
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    private Instant archivedAt;
+}
@@ -0,0 +1,44 @@
+package com.vsk.employee_management_webapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * Read-only view of the soft-deleted rows of the employees table, which {@link Employee}
+ * filters out; they stay here until EmployeeArchiver moves them to employees_archive
+ */
+@Entity
+@Table(name = "employees")
+@Immutable
+@SQLRestriction("deleted_at is not null")
+@Getter
+@NoArgsConstructor
+public class DeletedEmployee {
+
+    @Id
+    private Long id;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    private long version;
+
+    @Column(name = "deleted_at")
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    private Instant deletedAt;
+}
@@ -5,17 +5,25 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor; // Make sure this is present
 import lombok.AllArgsConstructor; // Add this if you want an all-args constructor generated by Lombok too
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "employees")
+@SQLRestriction("deleted_at is null") // Soft-deleted rows are invisible to every load and query of this entity
 @Getter
 @Setter
 @NoArgsConstructor // Lombok will generate a no-argument constructor
 // @AllArgsConstructor // You can add this if you want Lombok to generate a constructor with all fields
 public class Employee {
 
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "first_name")
@@ -27,6 +35,15 @@ public class Employee {
     @Column(name = "email")
     private String email;
 
+    // Incremented on every change; exposed to clients as the ETag
+    @Version
+    private long version;
+
+    // Set instead of deleting the row; EmployeeArchiver later moves the row to employees_archive
+    @Column(name = "deleted_at")
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    private Instant deletedAt;
+
     // Explicit constructor for creating new Employee objects with details
     public Employee(String firstName, String lastName, String email) {
         this.firstName = firstName;
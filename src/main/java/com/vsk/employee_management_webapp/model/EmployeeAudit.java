@@ -0,0 +1,44 @@
+package com.vsk.employee_management_webapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * One audit record; rows are inserted by EmployeeAuditTrail with JDBC batches and only read through JPA
+ */
+@Entity
+@Table(name = "employee_audit")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class EmployeeAudit {
+
+    @Id
+    private Long id;
+
+    @Column(name = "employee_id")
+    private long employeeId;
+
+    private String action;
+
+    private String actor;
+
+    // Plain TIMESTAMP, the way the writer binds it
+    @Column(name = "changed_at")
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    private Instant changedAt;
+
+    // Employee version the change produced; for deletes, the version that was deleted
+    private long version;
+
+    private String changes;
+}
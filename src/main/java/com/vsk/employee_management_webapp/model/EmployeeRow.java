@@ -0,0 +1,27 @@
+package com.vsk.employee_management_webapp.model;
+
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the employees table for the reactive stack; the JPA entity is {@link Employee}.
+ * Writes go through explicit statements in ReactiveEmployeeRepository, so the version column
+ * is maintained the same way as the JPA side does it.
+ */
+@Table("employees")
+public record EmployeeRow(
+        @Id Long id,
+        String firstName,
+        String lastName,
+        String email,
+        long version,
+        LocalDateTime deletedAt // Soft delete marker; ReactiveEmployeeRepository only returns rows where it is null
+) {
+
+    public EmployeeResponse toResponse() {
+        return new EmployeeResponse(id, firstName, lastName, email, version);
+    }
+}
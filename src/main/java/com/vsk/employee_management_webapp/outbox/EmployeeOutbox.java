@@ -0,0 +1,94 @@
+package com.vsk.employee_management_webapp.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.dto.EmployeeChangeEvent;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.util.TransactionUtils;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records employee events in the employee_outbox table as part of the caller's transaction, so
+ * an event exists exactly when its change was committed. Delivery is left to
+ * {@link OutboxDispatcher}; the request only pays for one multi-row INSERT.
+ */
+@Component
+public class EmployeeOutbox {
+
+    // Upper bound on rows per INSERT, to keep statements and their plans a sane size
+    private static final int MAX_ROWS_PER_STATEMENT = 100;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<OutboxDispatcher> dispatcher;
+
+    public EmployeeOutbox(EntityManager entityManager, ObjectMapper objectMapper, ObjectProvider<OutboxDispatcher> dispatcher) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Collection<EmployeeResponse> employees) {
+        insert(EmployeeChangeEvent.Type.CREATED, employees.stream().map(EmployeeResponse::id).toList(), payloads(employees));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(Collection<EmployeeResponse> employees) {
+        insert(EmployeeChangeEvent.Type.UPDATED, employees.stream().map(EmployeeResponse::id).toList(), payloads(employees));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Collection<Long> ids) {
+        insert(EmployeeChangeEvent.Type.DELETED, List.copyOf(ids), null);
+    }
+
+    // Must run after the statement that changed the employees, while their row locks are held,
+    // so that the next change to any of them gets a higher outbox ID
+    private void insert(EmployeeChangeEvent.Type type, List<Long> ids, List<String> payloads) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += MAX_ROWS_PER_STATEMENT) {
+            int to = Math.min(from + MAX_ROWS_PER_STATEMENT, ids.size());
+            StringBuilder sql = new StringBuilder("insert into employee_outbox (employee_id, event_type, payload) values ");
+            for (int i = from; i < to; i++) {
+                sql.append(i == from ? "(?, ?, ?)" : ", (?, ?, ?)");
+            }
+            NativeQuery<?> query = entityManager.createNativeQuery(sql.toString())
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedQuerySpace("employee_outbox"); // Nothing else to flush or invalidate
+            int position = 1;
+            for (int i = from; i < to; i++) {
+                query.setParameter(position++, ids.get(i));
+                query.setParameter(position++, type.name());
+                query.setParameter(position++, new TypedParameterValue<>(StandardBasicTypes.STRING, payloads == null ? null : payloads.get(i)));
+            }
+            query.executeUpdate();
+        }
+        TransactionUtils.afterCommit(() -> dispatcher.ifAvailable(OutboxDispatcher::wakeUp));
+    }
+
+    private List<String> payloads(Collection<EmployeeResponse> employees) {
+        List<String> payloads = new ArrayList<>(employees.size());
+        try {
+            for (EmployeeResponse employee : employees) {
+                payloads.add(objectMapper.writeValueAsString(employee));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize employee event", e);
+        }
+        return payloads;
+    }
+}
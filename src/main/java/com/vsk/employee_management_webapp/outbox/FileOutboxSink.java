@@ -0,0 +1,65 @@
+package com.vsk.employee_management_webapp.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vsk.employee_management_webapp.dto.EmployeeChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends each event as one NDJSON line to employee_app.outbox.file.path. A batch is written
+ * and forced to disk before the dispatcher deletes its rows.
+ */
+@Component
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectWriter writer;
+    private final Path path;
+
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${employee_app.outbox.file.path:employee-events.ndjson}") String path) {
+        this.writer = objectMapper.writerFor(Line.class);
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(events.size() * 256);
+        for (OutboxEvent event : events) {
+            buffer.write(writer.writeValueAsBytes(new Line(event.id(), event.employeeId(), event.type(), event.createdAt(), event.payload())));
+            buffer.write('\n');
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+    }
+
+    // The payload is already JSON, so it is embedded as is
+    private record Line(long id, long employeeId, EmployeeChangeEvent.Type type, Instant createdAt,
+                        @JsonRawValue String employee) {
+    }
+}
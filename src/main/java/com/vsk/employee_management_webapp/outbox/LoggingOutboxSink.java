@@ -0,0 +1,26 @@
+package com.vsk.employee_management_webapp.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Logs each event; the default sink, useful for local runs and tests
+ */
+@Component
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.info("Employee event {}: {} employee {} {}", event.id(), event.type(), event.employeeId(), event.payload());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.vsk.employee_management_webapp.outbox;
+
+import com.vsk.employee_management_webapp.dto.EmployeeChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers outbox events to the enabled sinks on a background thread. Batches are claimed with
+ * SELECT ... FOR UPDATE SKIP LOCKED, so several instances can dispatch side by side, and only an
+ * employee's earliest undelivered event is eligible, so each employee's events arrive in order.
+ * The row locks are the claim, so a batch is delivered inside the transaction that claimed it:
+ * first to every sink in one call, then event by event if that fails. Failed events are retried
+ * with exponential backoff and, after maxAttempts, marked failed and left in the table.
+ */
+@Component
+@ConditionalOnProperty(name = "employee_app.outbox.dispatcher.enabled", matchIfMissing = true)
+@Slf4j
+public class OutboxDispatcher implements SmartLifecycle {
+
+    private static final String CLAIM_SQL = """
+            select o.id, o.employee_id, o.event_type, o.payload, o.created_at, o.attempts
+            from employee_outbox o
+            where o.failed = false
+              and o.next_attempt_at_ms <= ?
+              and not exists (select 1 from employee_outbox p
+                              where p.employee_id = o.employee_id and p.id < o.id and p.failed = false)
+            order by o.id
+            limit ?
+            for update skip locked""";
+    private static final String DELETE_SQL = "delete from employee_outbox where id = ?";
+    private static final String RETRY_SQL = "update employee_outbox set attempts = ?, next_attempt_at_ms = ?, last_error = ?, failed = ? where id = ?";
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getLong("employee_id"),
+            EmployeeChangeEvent.Type.valueOf(rs.getString("event_type")),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final long pollNanos;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxAttempts;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            List<OutboxSink> availableSinks, MeterRegistry meterRegistry,
+                            @Value("${employee_app.outbox.sinks:log}") List<String> sinkNames,
+                            @Value("${employee_app.outbox.dispatcher.batchSize:100}") int batchSize,
+                            @Value("${employee_app.outbox.dispatcher.pollMs:500}") long pollMs,
+                            @Value("${employee_app.outbox.dispatcher.initialBackoffMs:1000}") long initialBackoffMs,
+                            @Value("${employee_app.outbox.dispatcher.maxBackoffMs:300000}") long maxBackoffMs,
+                            @Value("${employee_app.outbox.dispatcher.maxAttempts:10}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Rows the claim query reads but does not return are not kept locked
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.sinks = sinkNames.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> availableSinks.stream()
+                        .filter(sink -> sink.name().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Unknown outbox sink '" + name + "'; available: "
+                                + availableSinks.stream().map(OutboxSink::name).toList())))
+                .toList();
+        this.batchSize = batchSize;
+        this.pollNanos = TimeUnit.MILLISECONDS.toNanos(pollMs);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxAttempts = maxAttempts;
+        this.delivered = Counter.builder("employee.outbox.delivered").register(meterRegistry);
+        this.retried = Counter.builder("employee.outbox.retried").register(meterRegistry);
+        this.failed = Counter.builder("employee.outbox.failed").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (sinks.isEmpty()) {
+            log.warn("No outbox sinks enabled; employee events stay in the outbox undelivered.");
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("employee-outbox").daemon().start(this::run);
+        log.info("Dispatching employee events to {} in batches of {}.", sinks.stream().map(OutboxSink::name).toList(), batchSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Poll now rather than at the end of the current wait; called after a transaction that wrote events commits
+     */
+    void wakeUp() {
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = dispatchBatch();
+            } catch (RuntimeException e) {
+                log.warn("Employee event dispatch failed: {}", e.getMessage());
+            }
+            // A full batch suggests more are waiting
+            if (claimed < batchSize && running) {
+                LockSupport.parkNanos(pollNanos);
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        Integer claimed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, System.currentTimeMillis(), batchSize);
+            if (!events.isEmpty()) {
+                deliver(events);
+            }
+            return events.size();
+        });
+        return claimed == null ? 0 : claimed;
+    }
+
+    private void deliver(List<OutboxEvent> events) {
+        List<Object[]> done = new ArrayList<>(events.size());
+        List<Object[]> retries = new ArrayList<>();
+        Exception batchFailure = send(events);
+        if (batchFailure == null) {
+            events.forEach(event -> done.add(new Object[]{event.id()}));
+        } else if (events.size() == 1) {
+            retries.add(retry(events.get(0), batchFailure));
+        } else {
+            log.debug("Employee event batch failed, delivering its {} events one by one: {}", events.size(), batchFailure.getMessage());
+            for (OutboxEvent event : events) {
+                Exception failure = send(List.of(event));
+                if (failure == null) {
+                    done.add(new Object[]{event.id()});
+                } else {
+                    retries.add(retry(event, failure));
+                }
+            }
+        }
+        if (!done.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, done);
+            delivered.increment(done.size());
+        }
+        if (!retries.isEmpty()) {
+            jdbcTemplate.batchUpdate(RETRY_SQL, retries);
+        }
+    }
+
+    private Exception send(List<OutboxEvent> events) {
+        try {
+            for (OutboxSink sink : sinks) {
+                sink.deliver(events);
+            }
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    // Arguments for RETRY_SQL
+    private Object[] retry(OutboxEvent event, Exception failure) {
+        int attempts = event.attempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        if (exhausted) {
+            failed.increment();
+            log.error("Giving up on employee event {} ({} employee {}) after {} attempts", event.id(), event.type(),
+                    event.employeeId(), attempts, failure);
+        } else {
+            retried.increment();
+            log.warn("Employee event {} failed on attempt {}, retrying in {} ms: {}", event.id(), attempts, backoffMs,
+                    failure.getMessage());
+        }
+        String error = String.valueOf(failure.getMessage());
+        return new Object[]{attempts, System.currentTimeMillis() + backoffMs,
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, exhausted, event.id()};
+    }
+}
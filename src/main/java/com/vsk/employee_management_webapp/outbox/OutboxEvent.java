@@ -0,0 +1,18 @@
+package com.vsk.employee_management_webapp.outbox;
+
+import com.vsk.employee_management_webapp.dto.EmployeeChangeEvent;
+
+import java.time.Instant;
+
+/**
+ * An employee event as read back from the outbox. The ID is unique and, per employee, increasing,
+ * so sinks can use it to drop redeliveries. The payload is the employee as JSON, or null for deletes.
+ */
+public record OutboxEvent(
+        long id,
+        long employeeId,
+        EmployeeChangeEvent.Type type,
+        String payload,
+        Instant createdAt,
+        int attempts
+) {}
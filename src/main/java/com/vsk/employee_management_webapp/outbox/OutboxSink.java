@@ -0,0 +1,19 @@
+package com.vsk.employee_management_webapp.outbox;
+
+import java.util.List;
+
+/**
+ * A consumer of outbox events, enabled by listing its name in employee_app.outbox.sinks.
+ * Delivery is at least once: a batch that fails (in any sink) is retried event by event, so a
+ * sink may see an event again. Each call holds at most one event per employee, and an employee's
+ * next event is only handed out once this one has been delivered.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    /**
+     * Deliver the events, in order; throwing marks the whole call as failed
+     */
+    void deliver(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,77 @@
+package com.vsk.employee_management_webapp.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.dto.EmployeeChangeEvent;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@link EmployeeOutbox} of the reactive profile: inserts an employee's event into
+ * employee_outbox over R2DBC, inside the caller's transaction, and wakes the dispatcher once
+ * that transaction commits. Fails with NoTransactionException outside a transaction.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeOutbox {
+
+    private static final String INSERT_SQL = "insert into employee_outbox (employee_id, event_type, payload) values (:employeeId, :eventType, :payload)";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<OutboxDispatcher> dispatcher;
+
+    public ReactiveEmployeeOutbox(ConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                                  ObjectProvider<OutboxDispatcher> dispatcher) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+    }
+
+    public Mono<Void> created(EmployeeResponse employee) {
+        return insert(EmployeeChangeEvent.Type.CREATED, employee.id(), employee);
+    }
+
+    public Mono<Void> updated(EmployeeResponse employee) {
+        return insert(EmployeeChangeEvent.Type.UPDATED, employee.id(), employee);
+    }
+
+    public Mono<Void> deleted(long id) {
+        return insert(EmployeeChangeEvent.Type.DELETED, id, null);
+    }
+
+    // Must run after the statement that changed the employee, while its row lock is held,
+    // so that the next change to it gets a higher outbox ID
+    private Mono<Void> insert(EmployeeChangeEvent.Type type, long employeeId, EmployeeResponse employee) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronizations -> {
+                    DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(INSERT_SQL)
+                            .bind("employeeId", employeeId)
+                            .bind("eventType", type.name());
+                    insert = employee == null ? insert.bindNull("payload", String.class) : insert.bind("payload", payload(employee));
+                    return insert.fetch().rowsUpdated()
+                            .doOnSuccess(rows -> synchronizations.registerSynchronization(new TransactionSynchronization() {
+                                @Override
+                                public Mono<Void> afterCommit() {
+                                    return Mono.fromRunnable(() -> dispatcher.ifAvailable(OutboxDispatcher::wakeUp));
+                                }
+                            }));
+                })
+                .then();
+    }
+
+    private String payload(EmployeeResponse employee) {
+        try {
+            return objectMapper.writeValueAsString(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize employee event", e);
+        }
+    }
+}
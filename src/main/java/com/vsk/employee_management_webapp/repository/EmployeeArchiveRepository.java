@@ -0,0 +1,42 @@
+package com.vsk.employee_management_webapp.repository;
+
+import com.vsk.employee_management_webapp.dto.ArchivedEmployeeResponse;
+import com.vsk.employee_management_webapp.model.ArchivedEmployee;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Deleted employees, in both places they can be: soft-deleted rows still in the live table, seen
+ * through DeletedEmployee, and archived ones. Reads are keyset reads newest ID first; restoring
+ * an archived employee takes the two statements at the end.
+ */
+public interface EmployeeArchiveRepository extends Repository<ArchivedEmployee, Long> {
+
+    @Query("select new com.vsk.employee_management_webapp.dto.ArchivedEmployeeResponse(e.id, e.firstName, e.lastName, e.email, e.version, e.deletedAt) from DeletedEmployee e where e.id < :id order by e.id desc")
+    List<ArchivedEmployeeResponse> findDeletedByIdLessThan(long id, Limit limit);
+
+    @Query("select new com.vsk.employee_management_webapp.dto.ArchivedEmployeeResponse(e.id, e.firstName, e.lastName, e.email, e.version, e.deletedAt) from DeletedEmployee e where e.email = :email and e.id < :id order by e.id desc")
+    List<ArchivedEmployeeResponse> findDeletedByEmailAndIdLessThan(String email, long id, Limit limit);
+
+    List<ArchivedEmployeeResponse> findByIdLessThanOrderByIdDesc(long id, Limit limit);
+
+    List<ArchivedEmployeeResponse> findByEmailAndIdLessThanOrderByIdDesc(String email, long id, Limit limit);
+
+    /**
+     * Copy an archived employee back into the live table at the next version; 0 rows means it is not archived
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            insert into employees (id, first_name, last_name, email, version)
+            select id, first_name, last_name, email, version + 1 from employees_archive where id = :id""",
+            nativeQuery = true)
+    int copyToEmployeesById(long id);
+
+    @Modifying
+    @Query(value = "delete from employees_archive where id = :id", nativeQuery = true)
+    int deleteArchivedById(long id);
+}
@@ -0,0 +1,23 @@
+package com.vsk.employee_management_webapp.repository;
+
+import com.vsk.employee_management_webapp.dto.EmployeeAuditResponse;
+import com.vsk.employee_management_webapp.model.EmployeeAudit;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Read-only access to the audit trail. Every query seeks below the last ID the client has seen
+ * and reads newest first, along the primary key or the (employee_id, id) / (actor, id) indexes.
+ */
+public interface EmployeeAuditRepository extends Repository<EmployeeAudit, Long> {
+
+    List<EmployeeAuditResponse> findByIdLessThanOrderByIdDesc(long id, Limit limit);
+
+    List<EmployeeAuditResponse> findByEmployeeIdAndIdLessThanOrderByIdDesc(long employeeId, long id, Limit limit);
+
+    List<EmployeeAuditResponse> findByActorAndIdLessThanOrderByIdDesc(String actor, long id, Limit limit);
+
+    List<EmployeeAuditResponse> findByEmployeeIdAndActorAndIdLessThanOrderByIdDesc(long employeeId, String actor, long id, Limit limit);
+}
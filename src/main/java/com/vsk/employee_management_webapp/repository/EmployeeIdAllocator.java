@@ -0,0 +1,86 @@
+package com.vsk.employee_management_webapp.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out employee IDs for reactive inserts from the same employees_seq generator that
+ * Hibernate uses, with the same block semantics as its pooled optimizer: a generator value V
+ * reserves IDs V-49..V. Both stacks can therefore insert into one table without colliding,
+ * and one generator round trip serves 50 inserts.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class EmployeeIdAllocator {
+
+    private static final int BLOCK_SIZE = 50; // allocationSize of employees_seq on Employee
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final boolean sequence; // A real sequence (H2) rather than MySQL's single-row table
+
+    // Remaining IDs of the current block; guarded by this
+    private long next = 1;
+    private long last = 0;
+
+    public EmployeeIdAllocator(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        // Not a bean: a ReactiveTransactionManager bean would displace the JPA transaction manager
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        this.sequence = !connectionFactory.getMetadata().getName().toLowerCase().contains("mysql");
+        log.debug("Employee IDs for reactive inserts come from employees_seq as a {}", sequence ? "sequence" : "table");
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (next <= last) {
+                    return Mono.just(next++);
+                }
+            }
+            return nextBlock().map(hi -> {
+                // Concurrent refills each get their own block; a block replaced here is skipped, never reused
+                synchronized (this) {
+                    next = hi - BLOCK_SIZE + 2;
+                    last = hi;
+                }
+                return hi - BLOCK_SIZE + 1;
+            });
+        });
+    }
+
+    // Upper end of a freshly reserved block. Hibernate takes the generator's initial value 1 as
+    // the start of its first block rather than its end, so values below a full block are skipped.
+    private Mono<Long> nextBlock() {
+        return fetchGeneratorValue()
+                .repeat()
+                .filter(hi -> hi >= BLOCK_SIZE)
+                .next();
+    }
+
+    private Mono<Long> fetchGeneratorValue() {
+        if (sequence) {
+            return databaseClient.sql("select next value for employees_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one();
+        }
+        // The statements Hibernate's table generator issues: lock the row, advance it by a block
+        return databaseClient.sql("select next_val from employees_seq for update")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(value -> databaseClient.sql("update employees_seq set next_val = :next where next_val = :value")
+                        .bind("next", value + BLOCK_SIZE)
+                        .bind("value", value)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(value))
+                .as(transactionalOperator::transactional);
+    }
+}
@@ -1,9 +1,134 @@
 package com.vsk.employee_management_webapp.repository;
 
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.dto.EmployeeTableVersion;
 import com.vsk.employee_management_webapp.model.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    // The read methods below select straight into EmployeeResponse, so no entity is
+    // hydrated, snapshotted for dirty checking or held in the persistence context.
+    // Soft-deleted rows are left out of every JPQL query by the entity's @SQLRestriction;
+    // only the native restore at the end sees them.
+
+    /**
+     * A single employee as a response DTO
+     */
+    @Query("select new com.vsk.employee_management_webapp.dto.EmployeeResponse(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e where e.id = :id")
+    Optional<EmployeeResponse> findResponseById(long id);
+
+    /**
+     * Every employee as a response DTO
+     */
+    @Query("select new com.vsk.employee_management_webapp.dto.EmployeeResponse(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e")
+    List<EmployeeResponse> findAllResponses();
+
+    /**
+     * The given employees as response DTOs, locked until the transaction ends; read right before
+     * changing them, so the result is exactly their state before the change
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.vsk.employee_management_webapp.dto.EmployeeResponse(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e where e.id in :ids")
+    List<EmployeeResponse> findResponsesForUpdateByIdIn(Collection<Long> ids);
+
+    /**
+     * Page of employees as response DTOs, with a COUNT query for the total
+     */
+    @Query(value = "select new com.vsk.employee_management_webapp.dto.EmployeeResponse(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e",
+            countQuery = "select count(e) from Employee e")
+    Page<EmployeeResponse> findAllResponses(Pageable pageable);
+
+    /**
+     * Page of employees as response DTOs without the accompanying COUNT query
+     */
+    @Query("select new com.vsk.employee_management_webapp.dto.EmployeeResponse(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e")
+    Slice<EmployeeResponse> findResponseSlice(Pageable pageable);
+
+    /**
+     * Stream every employee as a response DTO, ordered by ID. Rows are pulled from the driver
+     * in fetch-size chunks, so the caller must consume the stream inside a transaction
+     * and close it when done.
+     */
+    @Query("select new com.vsk.employee_management_webapp.dto.EmployeeResponse(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e order by e.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<EmployeeResponse> streamAllResponses();
+
+    /**
+     * Keyset scroll: seeks past the given position using the sort keys plus ID,
+     * so no OFFSET and no COUNT query are issued. Returned as a DTO projection.
+     */
+    Window<EmployeeResponse> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Soft-delete the given employees in one statement, without loading them first. The delete is
+     * a new version, so it orders after every earlier change to the employee.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.deletedAt = :deletedAt, e.version = e.version + 1 where e.id in :ids")
+    int softDeleteByIdIn(Collection<Long> ids, Instant deletedAt);
+
+    /**
+     * Apply the same partial update to the given employees in one statement; null values keep the current column
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Employee e
+            set e.firstName = coalesce(:firstName, e.firstName),
+                e.lastName = coalesce(:lastName, e.lastName),
+                e.email = coalesce(:email, e.email),
+                e.version = e.version + 1
+            where e.id in :ids""")
+    int patchByIdIn(Collection<Long> ids, String firstName, String lastName, String email);
+
+    /**
+     * Overwrite an employee only if it is still at the expected version, bumping the version in
+     * the same statement; 0 rows means the employee is gone or was changed by someone else
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Employee e
+            set e.firstName = :firstName,
+                e.lastName = :lastName,
+                e.email = :email,
+                e.version = e.version + 1
+            where e.id = :id and e.version = :version""")
+    int updateByIdAndVersion(long id, long version, String firstName, String lastName, String email);
+
+    /**
+     * Row count plus sums of versions and IDs: any insert, update or delete changes at least one of them
+     */
+    @Query("select new com.vsk.employee_management_webapp.dto.EmployeeTableVersion(count(e), coalesce(sum(e.version), 0), coalesce(sum(e.id), 0)) from Employee e")
+    EmployeeTableVersion getTableVersion();
+
+    /**
+     * Undo the soft delete of an employee that has not been archived yet, bumping its version
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update employees set deleted_at = null, version = version + 1 where id = :id and deleted_at is not null",
+            nativeQuery = true)
+    int restoreById(long id);
 }
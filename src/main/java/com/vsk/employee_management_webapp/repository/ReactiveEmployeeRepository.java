@@ -0,0 +1,61 @@
+package com.vsk.employee_management_webapp.repository;
+
+import com.vsk.employee_management_webapp.model.EmployeeRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking access to the employees table, used by the reactive profile. R2DBC has no
+ * equivalent of the JPA entity's @SQLRestriction, so every method here leaves out soft-deleted
+ * rows itself; the inherited findAll, findById, count and existsById would include them.
+ */
+@Repository
+public interface ReactiveEmployeeRepository extends R2dbcRepository<EmployeeRow, Long> {
+
+    /**
+     * One page of employees in the pageable's order, without a COUNT query
+     */
+    Flux<EmployeeRow> findAllByDeletedAtIsNull(Pageable pageable);
+
+    Flux<EmployeeRow> findByDeletedAtIsNull(Sort sort);
+
+    Mono<EmployeeRow> findByIdAndDeletedAtIsNull(long id);
+
+    Mono<Long> countByDeletedAtIsNull();
+
+    /**
+     * Read and lock an employee for the rest of the transaction, so its audited before state and
+     * its outbox event stay in order with concurrent changes to it
+     */
+    @Query("select * from employees where id = :id and deleted_at is null for update")
+    Mono<EmployeeRow> findByIdForUpdate(long id);
+
+    /**
+     * Insert an employee under an ID taken from employees_seq, at version 0 like a JPA insert
+     */
+    @Modifying
+    @Query("insert into employees (id, first_name, last_name, email, version) values (:id, :firstName, :lastName, :email, 0)")
+    Mono<Integer> insert(long id, String firstName, String lastName, String email);
+
+    /**
+     * Overwrite an employee regardless of its version, bumping the version
+     */
+    @Modifying
+    @Query("update employees set first_name = :firstName, last_name = :lastName, email = :email, version = version + 1 where id = :id and deleted_at is null")
+    Mono<Integer> update(long id, String firstName, String lastName, String email);
+
+    /**
+     * Soft-delete an employee, reporting how many rows it affected (0 or 1)
+     */
+    @Modifying
+    @Query("update employees set deleted_at = :deletedAt, version = version + 1 where id = :id and deleted_at is null")
+    Mono<Integer> softDeleteEmployee(long id, LocalDateTime deletedAt);
+}
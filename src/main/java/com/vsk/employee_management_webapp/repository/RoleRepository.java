@@ -0,0 +1,12 @@
+package com.vsk.employee_management_webapp.repository;
+
+import com.vsk.employee_management_webapp.model.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RoleRepository extends JpaRepository<Role, Long> {
+    Optional<Role> findByName(String name);
+}
@@ -0,0 +1,312 @@
+package com.vsk.employee_management_webapp.search;
+
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.exception.ServiceSaturatedException;
+import com.vsk.employee_management_webapp.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over employee first name, last name and email. Tokens are kept
+ * in a sorted map so a prefix query is a range scan over the token dictionary rather than
+ * a table scan. Writes are applied after the surrounding transaction commits.
+ * <p>
+ * The index is built into a fresh segment that is swapped in once complete; writes committed
+ * while it is being built are recorded and replayed onto it, and an entry is never replaced by
+ * an older version of the same employee. Searches are refused until the first build finishes.
+ */
+@Component
+@Slf4j
+public class EmployeeSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Relevance weight of a match in each field; exact token matches count double
+    private static final double LAST_NAME_WEIGHT = 3;
+    private static final double FIRST_NAME_WEIGHT = 2;
+    private static final double EMAIL_WEIGHT = 1;
+
+    private static final long NOT_READY_RETRY_AFTER_SECONDS = 5;
+
+    private final int minPrefixLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; journal is non-null while a rebuild is scanning the table
+    private Segment segment = new Segment();
+    private List<Change> journal;
+    private volatile boolean ready;
+
+    /**
+     * @param minPrefixLength query terms shorter than this only match whole tokens, so a one-letter
+     *                        query does not expand to most of the token dictionary
+     */
+    public EmployeeSearchIndex(@Value("${employee_app.search.minPrefixLength:2}") int minPrefixLength) {
+        this.minPrefixLength = minPrefixLength;
+    }
+
+    /**
+     * Add or replace an employee in the index
+     */
+    public void put(EmployeeResponse employee) {
+        TransactionUtils.afterCommit(() -> apply(List.of(employee), List.of()));
+    }
+
+    public void putAll(Collection<EmployeeResponse> employees) {
+        if (!employees.isEmpty()) {
+            TransactionUtils.afterCommit(() -> apply(employees, List.of()));
+        }
+    }
+
+    /**
+     * Rebuild the index from a full scan, which is handed a consumer for every employee it reads.
+     * The current index keeps answering searches until the new one replaces it.
+     */
+    public void rebuild(Consumer<Consumer<EmployeeResponse>> scan) {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        boolean scanned = false;
+        try {
+            scan.accept(fresh::upsert);
+            scanned = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (scanned) {
+                    journal.forEach(change -> change.applyTo(fresh));
+                    segment = fresh;
+                    ready = true;
+                }
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void remove(long id) {
+        TransactionUtils.afterCommit(() -> apply(List.of(), List.of(id)));
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            TransactionUtils.afterCommit(() -> apply(List.of(), ids));
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Employees matching every term of the query, each term as a whole token or (from
+     * minPrefixLength characters) a token prefix, ranked by relevance and then by name.
+     * Only the requested page and the ones before it are kept in ranked order.
+     */
+    public Page<EmployeeResponse> search(String query, Pageable pageable) {
+        if (!ready) {
+            throw new ServiceSaturatedException("Search index is still loading", NOT_READY_RETRY_AFTER_SECONDS);
+        }
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<Document> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, Set<Long>> postings = segment.postings;
+            Set<Long> candidates = null;
+            for (String term : terms) {
+                Set<Long> termMatches = new HashSet<>();
+                if (term.length() < minPrefixLength) {
+                    termMatches.addAll(postings.getOrDefault(term, Set.of()));
+                } else {
+                    postings.subMap(term, true, term + Character.MAX_VALUE, false).values().forEach(termMatches::addAll);
+                }
+                if (candidates == null) {
+                    candidates = termMatches;
+                } else {
+                    candidates.retainAll(termMatches);
+                }
+                if (candidates.isEmpty()) {
+                    return Page.empty(pageable);
+                }
+            }
+            for (Long id : candidates) {
+                matches.add(segment.documents.get(id));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<ScoredDocument> ranking = Comparator.comparingDouble(ScoredDocument::score).reversed()
+                .thenComparing(match -> match.document().employee().lastName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(match -> match.document().employee().firstName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparingLong(match -> match.document().employee().id());
+        long limit = pageable.isPaged() ? pageable.getOffset() + pageable.getPageSize() : Long.MAX_VALUE;
+
+        // Bounded heap with the worst kept match on top
+        PriorityQueue<ScoredDocument> top = new PriorityQueue<>(ranking.reversed());
+        for (Document document : matches) {
+            top.offer(new ScoredDocument(document, document.score(terms)));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<ScoredDocument> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ranked.size()) : 0;
+        List<EmployeeResponse> content = ranked.subList(from, ranked.size()).stream()
+                .map(match -> match.document().employee())
+                .toList();
+        return new PageImpl<>(content, pageable, matches.size());
+    }
+
+    private void apply(Collection<EmployeeResponse> upserts, Collection<Long> removals) {
+        Change change = new Change(List.copyOf(upserts), List.copyOf(removals));
+        lock.writeLock().lock();
+        try {
+            change.applyTo(segment);
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Document(EmployeeResponse employee, List<String> firstName, List<String> lastName, List<String> email) {
+
+        static Document of(EmployeeResponse employee) {
+            return new Document(employee, tokenize(employee.firstName()), tokenize(employee.lastName()), tokenize(employee.email()));
+        }
+
+        Set<String> tokens() {
+            Set<String> tokens = new HashSet<>(firstName);
+            tokens.addAll(lastName);
+            tokens.addAll(email);
+            return tokens;
+        }
+
+        double score(List<String> terms) {
+            double score = 0;
+            for (String term : terms) {
+                score += Math.max(fieldScore(lastName, term, LAST_NAME_WEIGHT),
+                        Math.max(fieldScore(firstName, term, FIRST_NAME_WEIGHT), fieldScore(email, term, EMAIL_WEIGHT)));
+            }
+            return score;
+        }
+
+        // Exact token match scores 2x the field weight; a prefix match scores by how much of the token it covers
+        private static double fieldScore(List<String> tokens, String term, double weight) {
+            double best = 0;
+            for (String token : tokens) {
+                if (token.equals(term)) {
+                    return 2 * weight;
+                }
+                if (token.startsWith(term)) {
+                    best = Math.max(best, weight * term.length() / token.length());
+                }
+            }
+            return best;
+        }
+    }
+
+    private record ScoredDocument(Document document, double score) {
+    }
+
+    private record Change(List<EmployeeResponse> upserts, List<Long> removals) {
+
+        void applyTo(Segment segment) {
+            removals.forEach(segment::remove);
+            upserts.forEach(segment::upsert);
+        }
+    }
+
+    /**
+     * Token dictionary and documents of one build of the index
+     */
+    private static final class Segment {
+
+        private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        void upsert(EmployeeResponse employee) {
+            Document current = documents.get(employee.id());
+            if (current != null && current.employee().version() > employee.version()) {
+                return;
+            }
+            Document document = Document.of(employee);
+            unindex(documents.put(employee.id(), document));
+            for (String token : document.tokens()) {
+                postings.computeIfAbsent(token, key -> new HashSet<>()).add(employee.id());
+            }
+        }
+
+        void remove(long id) {
+            unindex(documents.remove(id));
+        }
+
+        private void unindex(Document previous) {
+            if (previous == null) {
+                return;
+            }
+            for (String token : previous.tokens()) {
+                Set<Long> ids = postings.get(token);
+                if (ids != null && ids.remove(previous.employee().id()) && ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.vsk.employee_management_webapp.search;
+
+import com.vsk.employee_management_webapp.datasource.ReadRouting;
+import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the search index from a streamed scan of the employees table once the application is up;
+ * search answers 503 until it has finished. The scan reads from the primary: the index is shared
+ * by every user, and writes a lagging replica had not applied yet would be missing from it until
+ * the next rebuild.
+ */
+@Component
+@Slf4j
+public class EmployeeSearchIndexInitializer {
+
+    private final EmployeeService employeeService;
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    public EmployeeSearchIndexInitializer(EmployeeService employeeService, EmployeeSearchIndex employeeSearchIndex) {
+        this.employeeService = employeeService;
+        this.employeeSearchIndex = employeeSearchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long started = System.nanoTime();
+        ReadRouting.pinToPrimary();
+        try {
+            employeeSearchIndex.rebuild(employeeService::streamAllEmployees);
+        } finally {
+            ReadRouting.clear();
+        }
+        log.info("Employee search index built with {} employees in {} ms",
+                employeeSearchIndex.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
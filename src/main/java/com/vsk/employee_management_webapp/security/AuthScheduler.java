@@ -0,0 +1,56 @@
+package com.vsk.employee_management_webapp.security;
+
+import com.vsk.employee_management_webapp.exception.ServiceSaturatedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Worker threads for the blocking steps of login and registration on the reactive stack (user
+ * lookup, password hashing through {@link OffloadingPasswordEncoder}), sized like the hashing
+ * pool and with a bounded queue. A full queue fails fast with {@link ServiceSaturatedException},
+ * as on the servlet stack, instead of letting sign-ins pile up on Reactor's shared schedulers.
+ */
+@Slf4j
+public class AuthScheduler implements DisposableBean {
+
+    private final Scheduler scheduler;
+    private final long retryAfterSeconds;
+
+    public AuthScheduler(int threads, int queueCapacity, long retryAfterSeconds) {
+        // The task cap applies per thread
+        this.scheduler = Schedulers.newBoundedElastic(threads, Math.max(1, queueCapacity / threads), "auth");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Run a blocking call on the auth threads
+     */
+    public <T> Mono<T> fromCallable(Callable<T> task) {
+        return failFast(Mono.fromCallable(task).subscribeOn(scheduler));
+    }
+
+    /**
+     * Turn a rejection by the auth threads anywhere in the given work into a 503
+     */
+    public <T> Mono<T> failFast(Mono<T> work) {
+        return work.onErrorMap(RejectedExecutionException.class, e -> {
+            log.warn("Sign-in queue is full; rejecting request.");
+            return new ServiceSaturatedException("Too many concurrent sign-in requests, please retry shortly.", retryAfterSeconds);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
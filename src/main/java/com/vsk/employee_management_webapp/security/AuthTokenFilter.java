@@ -8,23 +8,30 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Slf4j
 public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserService userService; // Use your UserService as UserDetailsService
+    private final UserDetailsCache userDetailsCache;
+    private final boolean userLookup; // Load the user on every request instead of trusting the token's roles
 
-    public AuthTokenFilter(JwtUtils jwtUtils, UserService userService) {
+    public AuthTokenFilter(JwtUtils jwtUtils, UserService userService, UserDetailsCache userDetailsCache, boolean userLookup) {
         this.jwtUtils = jwtUtils;
         this.userService = userService;
+        this.userDetailsCache = userDetailsCache;
+        this.userLookup = userLookup;
     }
 
     @Override
@@ -32,10 +39,11 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            VerifiedToken token = jwt != null ? jwtUtils.verify(jwt).orElse(null) : null;
+            if (token != null) {
+                String username = token.subject();
 
-                UserDetails userDetails = userService.loadUserByUsername(username);
+                UserDetails userDetails = resolveUser(token, username);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -53,6 +61,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Build the principal from the token's roles claim without touching the database.
+     * Falls back to a (cached) user lookup when configured, or for older tokens without roles.
+     */
+    private UserDetails resolveUser(VerifiedToken token, String username) {
+        if (!userLookup) {
+            Collection<? extends GrantedAuthority> authorities = token.authorities();
+            if (authorities != null) {
+                return new User(username, "", authorities);
+            }
+        }
+        return userDetailsCache.get(username, userService::loadUserByUsername);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
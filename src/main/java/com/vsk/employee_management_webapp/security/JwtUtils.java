@@ -1,23 +1,43 @@
 package com.vsk.employee_management_webapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys; // Import Keys
 import io.jsonwebtoken.security.SignatureException; // Import SignatureException
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 @Slf4j
 public class JwtUtils {
 
+    // Granted authority names of the user, so requests can be authorized without loading the user
+    public static final String ROLES_CLAIM = "roles";
+
     @Value("${employee_app.jwtSecret}")
     private String jwtSecret;
 
@@ -26,8 +46,23 @@ public class JwtUtils {
 
     private Key key; // Store the key after decoding/generating
 
+    private final JwtParser jwtParser; // Immutable and thread-safe, so built once for the key
+
+    // Recently verified tokens keyed by their SHA-256 digest, each kept only until the token expires
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    // jwt.validations{outcome=...}: how verify() calls end
+    private final Counter validTokens;
+    private final Counter badSignatureTokens;
+    private final Counter malformedTokens;
+    private final Counter expiredTokens;
+    private final Counter unsupportedTokens;
+    private final Counter emptyTokens;
+
     // Constructor or PostConstruct method to initialize the key securely
-    public JwtUtils(@Value("${employee_app.jwtSecret}") String jwtSecret) {
+    public JwtUtils(@Value("${employee_app.jwtSecret}") String jwtSecret,
+                    @Value("${employee_app.jwtCacheMaxSize:10000}") long jwtCacheMaxSize,
+                    MeterRegistry meterRegistry) {
         // Option 1: Decode from base64 string provided in properties (ensure it's long enough)
         // This requires you to generate a sufficiently long base64 string beforehand.
         // For HS512, it must be at least 64 bytes (512 bits)
@@ -46,6 +81,43 @@ public class JwtUtils {
             // System.out.println("New generated key (Base64 encoded): " + Base64.getEncoder().encodeToString(key.getEncoded()));
         }
 
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtCacheMaxSize)
+                .recordStats()
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                        Instant expiresAt = token.expiresAt();
+                        return expiresAt == null ? 0 : TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt.toEpochMilli() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+
+        this.validTokens = validationCounter(meterRegistry, "valid");
+        this.badSignatureTokens = validationCounter(meterRegistry, "bad_signature");
+        this.malformedTokens = validationCounter(meterRegistry, "malformed");
+        this.expiredTokens = validationCounter(meterRegistry, "expired");
+        this.unsupportedTokens = validationCounter(meterRegistry, "unsupported");
+        this.emptyTokens = validationCounter(meterRegistry, "empty");
+    }
+
+    private static Counter validationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("jwt.validations")
+                .description("JWT verifications by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
 
@@ -59,8 +131,13 @@ public class JwtUtils {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         log.debug("Generating JWT token for user: {}", userPrincipal.getUsername());
 
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
@@ -69,41 +146,92 @@ public class JwtUtils {
 
     // Extract username from token
     public String getUserNameFromJwtToken(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyOrThrow(token).subject();
     }
 
-    // Validate token
-    public boolean validateJwtToken(String authToken) {
+    // Verify the token once and return what it grants, or empty if it is not valid
+    public Optional<VerifiedToken> verify(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            log.debug("JWT token is valid.");
-            return true;
+            VerifiedToken token = verifyOrThrow(authToken);
+            validTokens.increment();
+            return Optional.of(token);
         } catch (SignatureException e) { // Use specific SignatureException
+            badSignatureTokens.increment();
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
+            malformedTokens.increment();
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
+            expiredTokens.increment();
             log.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
+            unsupportedTokens.increment();
             log.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
+            emptyTokens.increment();
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
-    // Extract a specific claim from the token
+    // Extract granted authorities from the token; null for tokens issued without the roles claim
+    public Collection<? extends GrantedAuthority> getAuthoritiesFromJwtToken(String token) {
+        return verifyOrThrow(token).authorities();
+    }
+
+    // Granted authorities from verified claims; null for tokens issued without the roles claim
+    private static List<SimpleGrantedAuthority> getAuthorities(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (roles == null) {
+            return null;
+        }
+        return roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+    }
+
+    // Validate token
+    public boolean validateJwtToken(String authToken) {
+        boolean valid = verify(authToken).isPresent();
+        if (valid) {
+            log.debug("JWT token is valid.");
+        }
+        return valid;
+    }
+
+    // Extract a specific claim from the token; always checks the signature, unlike verify()
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = jwtParser.parseClaimsJws(token).getBody();
         return claimsResolver.apply(claims);
     }
 
-    // Extract all claims from the token
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verify the token, skipping the signature check for recently verified tokens. The cache times
+    // entries on its own ticker, not the wall clock the exp claim uses, so a hit is checked again.
+    private VerifiedToken verifyOrThrow(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        String digest = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified == null) {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            verified = new VerifiedToken(claims.getSubject(), getAuthorities(claims),
+                    expiration == null ? null : expiration.toInstant());
+            verifiedTokens.put(digest, verified);
+        } else if (verified.isExpired(Instant.now())) {
+            verifiedTokens.invalidate(digest);
+            throw new ExpiredJwtException(null, null, "JWT expired at " + verified.expiresAt());
+        }
+        return verified;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
\ No newline at end of file
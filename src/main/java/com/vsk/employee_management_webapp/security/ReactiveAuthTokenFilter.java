@@ -0,0 +1,83 @@
+package com.vsk.employee_management_webapp.security;
+
+import com.vsk.employee_management_webapp.service.serviceInterface.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.util.Collection;
+
+/**
+ * {@link AuthTokenFilter} for WebFlux: a valid bearer token authenticates the exchange from its
+ * roles claim, and a missing or invalid one leaves it anonymous for the authorization rules
+ * to reject. The user lookup fallback is blocking, so it runs on the bounded elastic scheduler.
+ */
+@Slf4j
+public class ReactiveAuthTokenFilter implements WebFilter {
+
+    private final JwtUtils jwtUtils;
+    private final UserService userService;
+    private final UserDetailsCache userDetailsCache;
+    private final boolean userLookup; // Load the user on every request instead of trusting the token's roles
+
+    public ReactiveAuthTokenFilter(JwtUtils jwtUtils, UserService userService, UserDetailsCache userDetailsCache, boolean userLookup) {
+        this.jwtUtils = jwtUtils;
+        this.userService = userService;
+        this.userDetailsCache = userDetailsCache;
+        this.userLookup = userLookup;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = parseJwt(exchange);
+        VerifiedToken token = jwt != null ? jwtUtils.verify(jwt).orElse(null) : null; // Usually a cache hit, otherwise one HMAC
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+        String username = token.subject();
+        return resolveUser(token, username)
+                .map(userDetails -> {
+                    log.debug("Authenticated user: {}", username);
+                    return ReactiveSecurityContextHolder.withAuthentication(
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+                })
+                .defaultIfEmpty(Context.empty())
+                .flatMap(securityContext -> chain.filter(exchange).contextWrite(securityContext));
+    }
+
+    private Mono<UserDetails> resolveUser(VerifiedToken token, String username) {
+        if (!userLookup) {
+            Collection<? extends GrantedAuthority> authorities = token.authorities();
+            if (authorities != null) {
+                return Mono.just(new User(username, "", authorities));
+            }
+        }
+        return Mono.fromCallable(() -> userDetailsCache.get(username, userService::loadUserByUsername))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.error("Cannot set user authentication: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private String parseJwt(ServerWebExchange exchange) {
+        String headerAuth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            return headerAuth.substring(7);
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.vsk.employee_management_webapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of loaded users for setups that still check the user
+ * on every request (employee_app.security.userLookup=true). Entries expire after the
+ * configured TTL; changes to a user must call {@link #evict(String)} so they take
+ * effect immediately.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    private final Cache<String, UserDetails> cache;
+    // Bumped by every eviction before it invalidates, so a load that overlapped one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserDetailsCache(@Value("${employee_app.security.userCache.maxSize:10000}") long maxSize,
+                            @Value("${employee_app.security.userCache.ttlMs:60000}") long ttlMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    /**
+     * The loader runs outside the cache: Caffeine's computing get holds a map-bin monitor while
+     * loading, which would pin a virtual thread's carrier for the whole database round trip.
+     * Concurrent misses for one user may therefore load it more than once. A load that an
+     * eviction overlapped may have read the user from before the change, so it is returned but
+     * not cached.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        UserDetails cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        UserDetails loaded = loader.apply(username);
+        // Checked under the entry's lock, which invalidate also takes, so no eviction can slip in between
+        cache.asMap().compute(username, (key, current) -> generation.get() == loadedAt ? loaded : current);
+        return loaded;
+    }
+
+    public void evict(String username) {
+        generation.incrementAndGet();
+        cache.invalidate(username);
+        log.debug("Evicted cached user details for: {}", username);
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        log.debug("Evicted all cached user details.");
+    }
+}
@@ -0,0 +1,22 @@
+package com.vsk.employee_management_webapp.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What the filters need from a JWT whose signature has been checked: its subject, the
+ * authorities of its roles claim (null for tokens issued without one) and when it expires.
+ * Immutable, so one cached instance can be shared by concurrent requests.
+ */
+public record VerifiedToken(String subject, List<SimpleGrantedAuthority> authorities, Instant expiresAt) {
+
+    public VerifiedToken {
+        authorities = authorities == null ? null : List.copyOf(authorities);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
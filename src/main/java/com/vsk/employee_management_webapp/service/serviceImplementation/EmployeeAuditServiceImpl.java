@@ -0,0 +1,49 @@
+package com.vsk.employee_management_webapp.service.serviceImplementation;
+
+import com.vsk.employee_management_webapp.dto.EmployeeAuditResponse;
+import com.vsk.employee_management_webapp.repository.EmployeeAuditRepository;
+import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeAuditService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class EmployeeAuditServiceImpl implements EmployeeAuditService {
+
+    private final EmployeeAuditRepository employeeAuditRepository;
+
+    public EmployeeAuditServiceImpl(EmployeeAuditRepository employeeAuditRepository) {
+        this.employeeAuditRepository = employeeAuditRepository;
+    }
+
+    /**
+     * Keyset page of the audit trail: each filter combination walks its own index backwards
+     * from the cursor, and one extra row tells whether another page follows
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<EmployeeAuditResponse> getHistory(Long employeeId, String actor, Long beforeId, int size) {
+        log.debug("Fetching audit records before {} - Employee: {}, Actor: {}, Size: {}", beforeId, employeeId, actor, size);
+        long before = beforeId != null ? beforeId : Long.MAX_VALUE;
+        Limit limit = Limit.of(size + 1);
+        List<EmployeeAuditResponse> records;
+        if (employeeId != null && actor != null) {
+            records = employeeAuditRepository.findByEmployeeIdAndActorAndIdLessThanOrderByIdDesc(employeeId, actor, before, limit);
+        } else if (employeeId != null) {
+            records = employeeAuditRepository.findByEmployeeIdAndIdLessThanOrderByIdDesc(employeeId, before, limit);
+        } else if (actor != null) {
+            records = employeeAuditRepository.findByActorAndIdLessThanOrderByIdDesc(actor, before, limit);
+        } else {
+            records = employeeAuditRepository.findByIdLessThanOrderByIdDesc(before, limit);
+        }
+        boolean hasNext = records.size() > size;
+        return new SliceImpl<>(hasNext ? records.subList(0, size) : records, PageRequest.ofSize(size), hasNext);
+    }
+}
@@ -1,29 +1,104 @@
 package com.vsk.employee_management_webapp.service.serviceImplementation;
 
+import com.vsk.employee_management_webapp.audit.EmployeeAuditTrail;
+import com.vsk.employee_management_webapp.cache.EmployeeCountCache;
+import com.vsk.employee_management_webapp.changes.EmployeeChangeFeed;
+import com.vsk.employee_management_webapp.config.CacheConfiguration;
+import com.vsk.employee_management_webapp.dto.ArchivedEmployeeResponse;
+import com.vsk.employee_management_webapp.dto.BulkOperationResponse;
+import com.vsk.employee_management_webapp.dto.CountMode;
+import com.vsk.employee_management_webapp.dto.EmployeeBatchResponse;
+import com.vsk.employee_management_webapp.dto.EmployeePatchRequest;
 import com.vsk.employee_management_webapp.dto.EmployeeRequest;
 import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.exception.BadRequestException;
+import com.vsk.employee_management_webapp.exception.PreconditionFailedException;
 import com.vsk.employee_management_webapp.exception.ResourceNotFoundException;
 import com.vsk.employee_management_webapp.model.Employee;
+import com.vsk.employee_management_webapp.outbox.EmployeeOutbox;
+import com.vsk.employee_management_webapp.repository.EmployeeArchiveRepository;
 import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import com.vsk.employee_management_webapp.search.EmployeeSearchIndex;
 import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
+@Timed("employee.service") // One timer per method, tagged with class and method
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // Upper bound on IDs per IN list, to keep statements and their plans a sane size
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
     private final EmployeeRepository employeeRepository;
+    private final EmployeeArchiveRepository employeeArchiveRepository;
+    private final EntityManager entityManager;
+    private final EmployeeCountCache employeeCountCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int batchChunkSize;
+    private final Cache employeeCache;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final EmployeeChangeFeed employeeChangeFeed;
+    private final EmployeeOutbox employeeOutbox;
+    private final EmployeeAuditTrail employeeAuditTrail;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeArchiveRepository employeeArchiveRepository,
+                               EntityManager entityManager,
+                               EmployeeCountCache employeeCountCache, TransactionTemplate transactionTemplate,
+                               Validator validator, @Value("${employee_app.batch.chunkSize:500}") int batchChunkSize,
+                               CacheManager cacheManager, EmployeeSearchIndex employeeSearchIndex,
+                               EmployeeChangeFeed employeeChangeFeed, EmployeeOutbox employeeOutbox,
+                               EmployeeAuditTrail employeeAuditTrail) {
         this.employeeRepository = employeeRepository;
+        this.employeeArchiveRepository = employeeArchiveRepository;
+        this.entityManager = entityManager;
+        this.employeeCountCache = employeeCountCache;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.batchChunkSize = batchChunkSize;
+        this.employeeCache = cacheManager.getCache(CacheConfiguration.EMPLOYEES_CACHE);
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.employeeChangeFeed = employeeChangeFeed;
+        this.employeeOutbox = employeeOutbox;
+        this.employeeAuditTrail = employeeAuditTrail;
         log.debug("EmployeeServiceImpl initialized.");
     }
 
@@ -31,12 +106,32 @@ public class EmployeeServiceImpl implements EmployeeService {
      * Fetch all employees in non-paginated format
      */
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeResponse> getAllEmployees() {
-        log.info("Fetching all employee records.");
-        return employeeRepository.findAll()
-                .stream()
-                .map(this::mapToEmployeeResponse)
-                .collect(Collectors.toList());
+        log.debug("Fetching all employee records.");
+        return employeeRepository.findAllResponses();
+    }
+
+    /**
+     * Fingerprint of the employee table, checked before re-sending full lists
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getAllEmployeesVersion() {
+        return employeeRepository.getTableVersion().token();
+    }
+
+    /**
+     * Stream all employees to the consumer as DTOs, so the persistence context stays
+     * empty for the whole export
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<EmployeeResponse> consumer) {
+        log.debug("Streaming all employee records.");
+        try (Stream<EmployeeResponse> employees = employeeRepository.streamAllResponses()) {
+            employees.forEach(consumer);
+        }
     }
 
     /**
@@ -44,50 +139,337 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfiguration.EMPLOYEES_CACHE, key = "#result.id()")
     public EmployeeResponse saveEmployee(EmployeeRequest request) {
         log.debug("Saving employee: {}", request.email());
         Employee employee = new Employee(request.firstName(), request.lastName(), request.email());
-        Employee savedEmployee = employeeRepository.save(employee);
-        log.info("Saved employee with ID {}", savedEmployee.getId());
-        return mapToEmployeeResponse(savedEmployee);
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee); // A duplicate email fails here, before the caches are touched
+        employeeCountCache.increment(1);
+        log.debug("Saved employee with ID {}", savedEmployee.getId());
+        EmployeeResponse response = mapToEmployeeResponse(savedEmployee);
+        employeeSearchIndex.put(response);
+        employeeChangeFeed.created(List.of(response));
+        employeeOutbox.created(List.of(response));
+        employeeAuditTrail.created(List.of(response));
+        return response;
     }
 
     /**
-     * Fetch an employee by ID
+     * Save employees in chunks of batchChunkSize, one transaction per chunk. Each chunk is
+     * written with JDBC batching; if it fails, its rows are retried one by one so only the
+     * offending rows are rejected.
      */
     @Override
+    public EmployeeBatchResponse saveEmployees(Iterator<EmployeeRequest> employeeRequests) {
+        log.debug("Saving employee batch in chunks of {}", batchChunkSize);
+        List<EmployeeBatchResponse.ChunkResult> chunks = new ArrayList<>();
+        List<EmployeeRequest> chunk = new ArrayList<>(batchChunkSize);
+        int received = 0;
+        String inputError = null;
+        try {
+            while (employeeRequests.hasNext()) {
+                chunk.add(employeeRequests.next());
+                received++;
+                if (chunk.size() == batchChunkSize) {
+                    chunks.add(saveChunk(chunks.size(), received - chunk.size(), chunk));
+                    chunk.clear();
+                }
+            }
+        } catch (RuntimeException e) {
+            inputError = "Unreadable record at index " + received + ": " + e.getMessage();
+            log.warn("Employee batch input stopped after {} records: {}", received, e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(saveChunk(chunks.size(), received - chunk.size(), chunk));
+        }
+
+        int saved = chunks.stream().mapToInt(EmployeeBatchResponse.ChunkResult::saved).sum();
+        log.info("Saved {} of {} employees in {} chunks", saved, received, chunks.size());
+        return new EmployeeBatchResponse(received, saved, received - saved, chunks, inputError);
+    }
+
+    private EmployeeBatchResponse.ChunkResult saveChunk(int chunkNo, int offset, List<EmployeeRequest> requests) {
+        List<EmployeeBatchResponse.RowError> errors = new ArrayList<>();
+        List<EmployeeRequest> valid = new ArrayList<>(requests.size());
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String violation = validate(requests.get(i));
+            if (violation != null) {
+                errors.add(new EmployeeBatchResponse.RowError(offset + i, violation));
+            } else {
+                valid.add(requests.get(i));
+                validIndexes.add(offset + i);
+            }
+        }
+
+        int saved = 0;
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistAll(valid));
+            saved = valid.size();
+        } catch (RuntimeException e) {
+            log.warn("Employee batch chunk {} failed, retrying its rows individually: {}", chunkNo, e.getMessage());
+            for (int i = 0; i < valid.size(); i++) {
+                EmployeeRequest request = valid.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistAll(List.of(request)));
+                    saved++;
+                } catch (RuntimeException rowFailure) {
+                    errors.add(new EmployeeBatchResponse.RowError(validIndexes.get(i), rowFailure.getMessage()));
+                }
+            }
+        }
+        employeeCountCache.increment(saved);
+        errors.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        return new EmployeeBatchResponse.ChunkResult(chunkNo, offset, requests.size(), saved, errors);
+    }
+
+    private void persistAll(List<EmployeeRequest> requests) {
+        List<Employee> employees = new ArrayList<>(requests.size());
+        for (EmployeeRequest request : requests) {
+            Employee employee = new Employee(request.firstName(), request.lastName(), request.email());
+            entityManager.persist(employee);
+            employees.add(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<EmployeeResponse> responses = employees.stream().map(EmployeeServiceImpl::mapToEmployeeResponse).toList();
+        employeeSearchIndex.putAll(responses);
+        employeeChangeFeed.created(responses);
+        employeeOutbox.created(responses);
+        employeeAuditTrail.created(responses);
+    }
+
+    private <T> String validate(T request) {
+        if (request == null) {
+            return "Record is empty";
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Fetch an employee by ID. The result fills the cache every user reads from, so the miss is
+     * read in a read-write transaction, which always goes to the primary: a copy from a lagging
+     * replica would serve a deleted or outdated employee to everyone, its writer included.
+     * The miss is synchronized so the cache can tell whether a write overlapped it.
+     */
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheConfiguration.EMPLOYEES_CACHE, key = "#id", sync = true)
     public EmployeeResponse getEmployeeById(long id) {
         log.debug("Fetching employee by ID: {}", id);
-        Employee employee = employeeRepository.findById(id)
+        EmployeeResponse employee = employeeRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
-        log.info("Found employee: {}", employee.getEmail());
-        return mapToEmployeeResponse(employee);
+        log.debug("Found employee with ID {}", employee.id());
+        return employee;
     }
 
     /**
-     * Delete employee by ID
+     * Soft-delete employee by ID, locking and reading it first for the audit trail
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.EMPLOYEES_CACHE, key = "#id")
     public void deleteEmployeeById(long id) {
         log.debug("Deleting employee with ID: {}", id);
-        Employee employee = employeeRepository.findById(id)
+        List<EmployeeResponse> existing = employeeRepository.findResponsesForUpdateByIdIn(List.of(id));
+        if (existing.isEmpty()) {
+            throw new ResourceNotFoundException("Employee", "id", id);
+        }
+        employeeRepository.softDeleteByIdIn(List.of(id), Instant.now());
+        List<EmployeeResponse> deleted = existing.stream().map(EmployeeServiceImpl::asDeleted).toList();
+        employeeCountCache.decrement(1);
+        employeeSearchIndex.remove(id);
+        employeeChangeFeed.deleted(deleted);
+        employeeOutbox.deleted(List.of(id));
+        employeeAuditTrail.deleted(deleted);
+        log.debug("Deleted employee with ID {}", id);
+    }
+
+    /**
+     * Soft-delete employees by ID with set-based UPDATE statements, each preceded by a locking read
+     * of the same IDs for the audit trail; unknown IDs are ignored
+     */
+    @Override
+    @Transactional
+    public BulkOperationResponse deleteEmployeesByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        log.debug("Deleting {} employees", distinctIds.size());
+        Instant deletedAt = Instant.now();
+        List<EmployeeResponse> deleted = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_STATEMENT) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, distinctIds.size()));
+            List<EmployeeResponse> existing = employeeRepository.findResponsesForUpdateByIdIn(chunk);
+            if (!existing.isEmpty()) {
+                employeeRepository.softDeleteByIdIn(chunk, deletedAt);
+                existing.stream().map(EmployeeServiceImpl::asDeleted).forEach(deleted::add);
+            }
+        }
+        List<Long> deletedIds = deleted.stream().map(EmployeeResponse::id).toList();
+        distinctIds.forEach(employeeCache::evict);
+        employeeSearchIndex.removeAll(deletedIds);
+        employeeChangeFeed.deleted(deleted);
+        employeeOutbox.deleted(deletedIds);
+        employeeAuditTrail.deleted(deleted);
+        employeeCountCache.decrement(deleted.size());
+        log.info("Deleted {} of {} requested employees", deleted.size(), distinctIds.size());
+        return new BulkOperationResponse(distinctIds.size(), deleted.size());
+    }
+
+    /**
+     * Restore a deleted employee at its next version: in place while it is only soft-deleted,
+     * otherwise by moving it back from the archive. An email taken by a live employee since
+     * fails the unique index, and with it the restore.
+     */
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfiguration.EMPLOYEES_CACHE, key = "#id")
+    public EmployeeResponse restoreEmployee(long id) {
+        log.debug("Restoring employee with ID: {}", id);
+        if (employeeRepository.restoreById(id) == 0) {
+            if (employeeArchiveRepository.copyToEmployeesById(id) == 0) {
+                throw new ResourceNotFoundException("Deleted employee", "id", id);
+            }
+            employeeArchiveRepository.deleteArchivedById(id);
+        }
+        EmployeeResponse response = employeeRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
-        employeeRepository.delete(employee);
-        log.info("Deleted employee: {}", employee.getEmail());
+        employeeCountCache.increment(1);
+        employeeSearchIndex.put(response);
+        employeeChangeFeed.created(List.of(response));
+        employeeOutbox.created(List.of(response));
+        employeeAuditTrail.restored(List.of(response));
+        log.debug("Restored employee with ID {}", id);
+        return response;
+    }
+
+    /**
+     * Keyset page of deleted employees: the soft-deleted ones still in the live table and the
+     * archived ones are read from the cursor on separately, one extra row each, and merged
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ArchivedEmployeeResponse> getDeletedEmployees(String email, Long beforeId, int size) {
+        log.debug("Fetching deleted employees before {} - Email: {}, Size: {}", beforeId, email, size);
+        long before = beforeId != null ? beforeId : Long.MAX_VALUE;
+        List<ArchivedEmployeeResponse> deleted = new ArrayList<>(2 * size + 2);
+        if (email != null) {
+            deleted.addAll(employeeArchiveRepository.findDeletedByEmailAndIdLessThan(email, before, Limit.of(size + 1)));
+            deleted.addAll(employeeArchiveRepository.findByEmailAndIdLessThanOrderByIdDesc(email, before, Limit.of(size + 1)));
+        } else {
+            deleted.addAll(employeeArchiveRepository.findDeletedByIdLessThan(before, Limit.of(size + 1)));
+            deleted.addAll(employeeArchiveRepository.findByIdLessThanOrderByIdDesc(before, Limit.of(size + 1)));
+        }
+        deleted.sort(Comparator.comparing(ArchivedEmployeeResponse::id).reversed());
+        boolean hasNext = deleted.size() > size;
+        return new SliceImpl<>(hasNext ? deleted.subList(0, size) : deleted, PageRequest.ofSize(size), hasNext);
+    }
+
+    /**
+     * Apply partial updates with set-based UPDATE statements. Patches that set the same
+     * values are grouped, so a batch costs one statement per distinct set of values
+     * rather than a load and a save per employee. The patched employees are read (and locked)
+     * beforehand for the audit trail, and their new state is derived from that.
+     */
+    @Override
+    @Transactional
+    public BulkOperationResponse patchEmployees(List<EmployeePatchRequest> patches) {
+        log.debug("Patching {} employees", patches.size());
+        Map<Long, EmployeePatchRequest> patchesById = new HashMap<>();
+        Map<List<String>, List<Long>> idsByValues = new LinkedHashMap<>();
+        for (EmployeePatchRequest patch : patches) {
+            String violation = validate(patch);
+            if (violation != null) {
+                throw new BadRequestException("Invalid patch" + (patch != null ? " for employee " + patch.id() : "") + ": " + violation);
+            }
+            if (patch.firstName() == null && patch.lastName() == null && patch.email() == null) {
+                throw new BadRequestException("Patch for employee " + patch.id() + " has no fields to update");
+            }
+            if (patchesById.putIfAbsent(patch.id(), patch) != null) {
+                throw new BadRequestException("Employee " + patch.id() + " is patched more than once");
+            }
+            idsByValues.computeIfAbsent(Arrays.asList(patch.firstName(), patch.lastName(), patch.email()), values -> new ArrayList<>())
+                    .add(patch.id());
+        }
+
+        Map<Long, EmployeeResponse> before = new HashMap<>();
+        List<Long> patchedIds = new ArrayList<>(patchesById.keySet());
+        for (int from = 0; from < patchedIds.size(); from += MAX_IDS_PER_STATEMENT) {
+            employeeRepository.findResponsesForUpdateByIdIn(patchedIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, patchedIds.size())))
+                    .forEach(employee -> before.put(employee.id(), employee));
+        }
+
+        int updated = 0;
+        for (Map.Entry<List<String>, List<Long>> group : idsByValues.entrySet()) {
+            List<String> values = group.getKey();
+            List<Long> ids = group.getValue();
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+                updated += employeeRepository.patchByIdIn(ids.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, ids.size())),
+                        values.get(0), values.get(1), values.get(2));
+            }
+        }
+        patchedIds.forEach(employeeCache::evict);
+        if (updated > 0) {
+            // The rows are locked, so each now holds its locked state with the patch applied
+            List<EmployeeResponse> patched = before.values().stream()
+                    .map(employee -> applyPatch(employee, patchesById.get(employee.id())))
+                    .toList();
+            employeeSearchIndex.putAll(patched);
+            employeeChangeFeed.updated(patched);
+            employeeOutbox.updated(patched);
+            employeeAuditTrail.updated(before, patched);
+        }
+        log.info("Patched {} of {} requested employees", updated, patches.size());
+        return new BulkOperationResponse(patches.size(), updated);
     }
 
     /**
      * Return paginated employee data
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<EmployeeResponse> getPaginatedEmployees(Pageable pageable) {
         log.debug("Fetching paginated employees - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<Employee> page = employeeRepository.findAll(pageable);
-        List<EmployeeResponse> responses = page.stream()
-                .map(this::mapToEmployeeResponse)
-                .collect(Collectors.toList());
-        return new PageImpl<>(responses, pageable, page.getTotalElements());
+        Page<EmployeeResponse> page = employeeRepository.findAllResponses(pageable);
+        employeeCountCache.set(page.getTotalElements());
+        return page;
+    }
+
+    /**
+     * Return paginated employee data, counting only as much as the count mode asks for
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<EmployeeResponse> getPaginatedEmployees(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return getPaginatedEmployees(pageable);
+        }
+        log.debug("Fetching employee slice - Page: {}, Size: {}, Count: {}", pageable.getPageNumber(), pageable.getPageSize(), countMode);
+        Slice<EmployeeResponse> slice = employeeRepository.findResponseSlice(pageable);
+        if (countMode == CountMode.NONE) {
+            return slice;
+        }
+        // The slice already tells us the exact total on the last page; otherwise trust the cache
+        // but never report fewer rows than the slice has proven to exist
+        long seen = pageable.isPaged() ? pageable.getOffset() + slice.getNumberOfElements() : slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(employeeCountCache.get(), seen + 1) : seen;
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    /**
+     * Return the keyset page following the given position
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Window<EmployeeResponse> getEmployeesAfter(ScrollPosition position, Sort sort, int size) {
+        log.debug("Fetching employees after {} - Sort: {}, Size: {}", position, sort, size);
+        return employeeRepository.findBy(position, sort, Limit.of(size));
     }
 
     /**
@@ -95,24 +477,91 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfiguration.EMPLOYEES_CACHE, key = "#id")
     public EmployeeResponse updateEmployee(long id, EmployeeRequest request) {
         log.debug("Updating employee with ID: {}", id);
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
+        EmployeeResponse before = mapToEmployeeResponse(employee);
 
         employee.setFirstName(request.firstName());
         employee.setLastName(request.lastName());
         employee.setEmail(request.email());
 
-        Employee updated = employeeRepository.save(employee);
-        log.info("Updated employee: {} (ID: {})", updated.getEmail(), updated.getId());
-        return mapToEmployeeResponse(updated);
+        Employee updated = employeeRepository.saveAndFlush(employee); // Flush so the response carries the new version
+        log.debug("Updated employee with ID {}", updated.getId());
+        EmployeeResponse response = mapToEmployeeResponse(updated);
+        employeeSearchIndex.put(response);
+        employeeChangeFeed.updated(List.of(response));
+        employeeOutbox.updated(List.of(response));
+        employeeAuditTrail.updated(before, response);
+        return response;
+    }
+
+    /**
+     * Update employee record with one versioned UPDATE; the response is built from the request,
+     * since a matching row holds exactly those values afterwards. The state it replaces, which
+     * the audit trail records, comes from the cache when that holds the expected version and from
+     * a locking read otherwise, which also settles a stale or missing employee without the UPDATE.
+     */
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfiguration.EMPLOYEES_CACHE, key = "#id")
+    public EmployeeResponse updateEmployee(long id, long expectedVersion, EmployeeRequest request) {
+        log.debug("Updating employee with ID {} at version {}", id, expectedVersion);
+        EmployeeResponse before = employeeCache.get(id, EmployeeResponse.class);
+        if (before == null || before.version() != expectedVersion) {
+            before = employeeRepository.findResponsesForUpdateByIdIn(List.of(id)).stream().findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
+            if (before.version() != expectedVersion) {
+                throw new PreconditionFailedException("Employee", id);
+            }
+        }
+        if (employeeRepository.updateByIdAndVersion(id, expectedVersion, request.firstName(), request.lastName(), request.email()) == 0) {
+            // The cached copy was out of date: the employee changed or went away since
+            if (!employeeRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Employee", "id", id);
+            }
+            throw new PreconditionFailedException("Employee", id);
+        }
+        EmployeeResponse response = new EmployeeResponse(id, request.firstName(), request.lastName(), request.email(),
+                expectedVersion + 1);
+        employeeSearchIndex.put(response);
+        employeeChangeFeed.updated(List.of(response));
+        employeeOutbox.updated(List.of(response));
+        employeeAuditTrail.updated(before, response);
+        return response;
+    }
+
+    /**
+     * Search employees by name or email prefix, served from the in-memory index
+     */
+    @Override
+    public Page<EmployeeResponse> searchEmployees(String query, Pageable pageable) {
+        log.debug("Searching employees for '{}' - Page: {}, Size: {}", query, pageable.getPageNumber(), pageable.getPageSize());
+        return employeeSearchIndex.search(query, pageable);
+    }
+
+    // The employee with the patch's non-null fields applied, as the patch UPDATE leaves its row
+    private static EmployeeResponse applyPatch(EmployeeResponse employee, EmployeePatchRequest patch) {
+        return new EmployeeResponse(employee.id(),
+                patch.firstName() != null ? patch.firstName() : employee.firstName(),
+                patch.lastName() != null ? patch.lastName() : employee.lastName(),
+                patch.email() != null ? patch.email() : employee.email(),
+                employee.version() + 1);
+    }
+
+    // The employee as the soft-delete UPDATE leaves its row
+    private static EmployeeResponse asDeleted(EmployeeResponse employee) {
+        return new EmployeeResponse(employee.id(), employee.firstName(), employee.lastName(), employee.email(),
+                employee.version() + 1);
     }
 
     /**
      * Map entity to DTO
      */
-    private EmployeeResponse mapToEmployeeResponse(Employee employee) {
-        return new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    static EmployeeResponse mapToEmployeeResponse(Employee employee) {
+        return new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getVersion());
     }
 }
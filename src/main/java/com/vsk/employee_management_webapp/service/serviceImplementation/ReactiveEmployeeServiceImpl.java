@@ -0,0 +1,168 @@
+package com.vsk.employee_management_webapp.service.serviceImplementation;
+
+import com.vsk.employee_management_webapp.audit.EmployeeAuditTrail;
+import com.vsk.employee_management_webapp.dto.EmployeeRequest;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.exception.PreconditionFailedException;
+import com.vsk.employee_management_webapp.exception.ResourceNotFoundException;
+import com.vsk.employee_management_webapp.model.EmployeeRow;
+import com.vsk.employee_management_webapp.outbox.ReactiveEmployeeOutbox;
+import com.vsk.employee_management_webapp.repository.EmployeeIdAllocator;
+import com.vsk.employee_management_webapp.repository.ReactiveEmployeeRepository;
+import com.vsk.employee_management_webapp.service.serviceInterface.ReactiveEmployeeService;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Employee operations over R2DBC. Nothing here blocks, so a request waiting on the database
+ * holds no thread; the in-process caches and search index of the servlet stack are not used.
+ * Each write inserts its outbox event in the same R2DBC transaction, and is handed to the audit
+ * trail once that transaction has committed, as on the servlet stack.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final EmployeeIdAllocator employeeIdAllocator;
+    private final ReactiveEmployeeOutbox employeeOutbox;
+    private final EmployeeAuditTrail employeeAuditTrail;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository, EmployeeIdAllocator employeeIdAllocator,
+                                       ReactiveEmployeeOutbox employeeOutbox, EmployeeAuditTrail employeeAuditTrail,
+                                       ConnectionFactory connectionFactory) {
+        this.employeeRepository = employeeRepository;
+        this.employeeIdAllocator = employeeIdAllocator;
+        this.employeeOutbox = employeeOutbox;
+        this.employeeAuditTrail = employeeAuditTrail;
+        // Not a bean: a ReactiveTransactionManager bean would displace the JPA transaction manager
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Rows are pulled from the driver as downstream demand arrives, so a slow client
+     * slows the query instead of buffering the table
+     */
+    @Override
+    public Flux<EmployeeResponse> streamAllEmployees() {
+        log.debug("Streaming all employee records.");
+        return employeeRepository.findByDeletedAtIsNull(Sort.by("id"))
+                .map(EmployeeRow::toResponse);
+    }
+
+    @Override
+    public Mono<EmployeeResponse> saveEmployee(EmployeeRequest request) {
+        log.debug("Saving employee: {}", request.email());
+        return currentActor().flatMap(actor -> employeeIdAllocator.nextId() // Outside the transaction, which need not wait for it
+                .flatMap(id -> {
+                    EmployeeResponse saved = new EmployeeResponse(id, request.firstName(), request.lastName(), request.email(), 0);
+                    return employeeRepository.insert(id, request.firstName(), request.lastName(), request.email())
+                            .then(employeeOutbox.created(saved))
+                            .thenReturn(saved)
+                            .as(transactionalOperator::transactional);
+                })
+                .doOnNext(saved -> {
+                    employeeAuditTrail.created(List.of(saved), actor);
+                    log.debug("Saved employee with ID {}", saved.id());
+                }));
+    }
+
+    @Override
+    public Mono<EmployeeResponse> getEmployeeById(long id) {
+        log.debug("Fetching employee by ID: {}", id);
+        return employeeRepository.findByIdAndDeletedAtIsNull(id)
+                .map(EmployeeRow::toResponse)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee", "id", id)));
+    }
+
+    @Override
+    public Mono<Void> deleteEmployeeById(long id) {
+        log.debug("Deleting employee with ID: {}", id);
+        return currentActor().flatMap(actor -> lockEmployee(id)
+                .flatMap(employee -> employeeRepository.softDeleteEmployee(id, LocalDateTime.now()) // Local time, the way JDBC binds the JPA side's Instant
+                        .then(employeeOutbox.deleted(id))
+                        .thenReturn(new EmployeeResponse(id, employee.firstName(), employee.lastName(), employee.email(),
+                                employee.version() + 1))) // As the soft delete leaves the row
+                .as(transactionalOperator::transactional)
+                .doOnNext(deleted -> employeeAuditTrail.deleted(List.of(deleted), actor)))
+                .then();
+    }
+
+    /**
+     * The page and its COUNT run concurrently on separate connections
+     */
+    @Override
+    public Mono<Page<EmployeeResponse>> getPaginatedEmployees(Pageable pageable) {
+        log.debug("Fetching paginated employees - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
+        return Mono.zip(
+                employeeRepository.findAllByDeletedAtIsNull(pageable).map(EmployeeRow::toResponse).collectList(),
+                employeeRepository.countByDeletedAtIsNull(),
+                (content, total) -> new PageImpl<>(content, pageable, total));
+    }
+
+    @Override
+    public Mono<EmployeeResponse> updateEmployee(long id, EmployeeRequest request) {
+        log.debug("Updating employee with ID: {}", id);
+        return update(id, null, request);
+    }
+
+    @Override
+    public Mono<EmployeeResponse> updateEmployee(long id, long expectedVersion, EmployeeRequest request) {
+        log.debug("Updating employee with ID {} at version {}", id, expectedVersion);
+        return update(id, expectedVersion, request);
+    }
+
+    // The employee is read and locked first, for the audit trail's before state and the version check
+    private Mono<EmployeeResponse> update(long id, Long expectedVersion, EmployeeRequest request) {
+        return currentActor().flatMap(actor -> lockEmployee(id)
+                .flatMap(before -> {
+                    if (expectedVersion != null && before.version() != expectedVersion) {
+                        return Mono.error(new PreconditionFailedException("Employee", id));
+                    }
+                    EmployeeResponse after = new EmployeeResponse(id, request.firstName(), request.lastName(), request.email(),
+                            before.version() + 1);
+                    return employeeRepository.update(id, request.firstName(), request.lastName(), request.email())
+                            .then(employeeOutbox.updated(after))
+                            .thenReturn(Tuples.of(before, after));
+                })
+                .as(transactionalOperator::transactional)
+                .map(change -> {
+                    employeeAuditTrail.updated(change.getT1(), change.getT2(), actor);
+                    return change.getT2();
+                }));
+    }
+
+    private Mono<EmployeeResponse> lockEmployee(long id) {
+        return employeeRepository.findByIdForUpdate(id)
+                .map(EmployeeRow::toResponse)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee", "id", id)));
+    }
+
+    // The user set by ReactiveAuthTokenFilter, or the audit trail's system actor outside a request
+    private static Mono<String> currentActor() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getName)
+                .defaultIfEmpty(EmployeeAuditTrail.SYSTEM_ACTOR);
+    }
+}
@@ -3,20 +3,26 @@ package com.vsk.employee_management_webapp.service.serviceImplementation;
 import com.vsk.employee_management_webapp.dto.UserRegistrationRequest;
 import com.vsk.employee_management_webapp.model.Role;
 import com.vsk.employee_management_webapp.model.User;
+import com.vsk.employee_management_webapp.repository.RoleRepository;
 import com.vsk.employee_management_webapp.repository.UserRepository;
+import com.vsk.employee_management_webapp.security.UserDetailsCache;
 import com.vsk.employee_management_webapp.service.serviceInterface.UserService;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,39 +30,57 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService, UserDetailsService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
 
     private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final String EMAIL_INDEX = "ux_users_email";
 
-    public UserServiceImpl(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                           UserDetailsCache userDetailsCache, TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
+        this.transactionTemplate = transactionTemplate;
         log.debug("UserServiceImpl initialized.");
     }
 
     /**
-     * Save a new user with default role assignment
+     * Save a new user with default role assignment. Duplicate emails are rejected by the
+     * unique index on users.email rather than a read-before-write, so concurrent
+     * registrations of the same address cannot both succeed. The password is hashed before
+     * the transaction starts, so no connection is held while the hash waits for the hashing pool.
      */
     @Override
-    @Transactional
     public User save(UserRegistrationRequest registrationRequest) {
         log.debug("Registering new user: {}", registrationRequest.email());
+        String encodedPassword = passwordEncoder.encode(registrationRequest.password());
 
-        if (userRepository.findByEmail(registrationRequest.email()) != null) {
-            log.warn("Registration failed: Email already in use - {}", registrationRequest.email());
+        User savedUser;
+        try {
+            savedUser = transactionTemplate.execute(status -> {
+                Role role = roleRepository.findByName(DEFAULT_ROLE)
+                        .orElseGet(() -> new Role(null, DEFAULT_ROLE));
+                return userRepository.saveAndFlush(new User(
+                        registrationRequest.firstName(),
+                        registrationRequest.lastName(),
+                        registrationRequest.email(),
+                        encodedPassword,
+                        List.of(role)
+                ));
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (!violates(e, EMAIL_INDEX)) {
+                throw e;
+            }
+            log.warn("Registration failed: Email already in use");
             throw new IllegalArgumentException("Email already registered.");
         }
-
-        User user = new User(
-                registrationRequest.firstName(),
-                registrationRequest.lastName(),
-                registrationRequest.email(),
-                passwordEncoder.encode(registrationRequest.password()),
-                List.of(new Role(null, DEFAULT_ROLE))
-        );
-
-        User savedUser = userRepository.save(user);
-        log.info("New user registered successfully: {}", savedUser.getEmail());
+        userDetailsCache.evict(savedUser.getEmail());
+        log.info("New user registered with ID {}", savedUser.getId());
         return savedUser;
     }
 
@@ -64,6 +88,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
      * Load user details by email for authentication
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.debug("Authenticating user by email: {}", email);
 
@@ -73,7 +98,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
                     return new UsernameNotFoundException("Invalid credentials.");
                 });
 
-        log.info("Authentication success: {}", email);
+        log.debug("Authentication success: {}", email);
 
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
@@ -82,6 +107,34 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         );
     }
 
+    /**
+     * Store a password re-encoded at the current hashing strength, after a successful login
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Invalid credentials."));
+        user.setPassword(newEncodedPassword);
+        userDetailsCache.evict(user.getEmail());
+        log.info("Upgraded password hash for user ID {}", user.getId());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newEncodedPassword)
+                .build();
+    }
+
+    // Whether the failure is the named unique index; some drivers only name it in the message
+    private static boolean violates(DataIntegrityViolationException e, String indexName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String name = cause instanceof ConstraintViolationException violation ? violation.getConstraintName() : cause.getMessage();
+            if (name != null && name.toLowerCase(Locale.ROOT).contains(indexName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Convert user roles to Spring Security authorities
      */
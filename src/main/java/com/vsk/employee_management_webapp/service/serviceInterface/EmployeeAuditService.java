@@ -0,0 +1,21 @@
+package com.vsk.employee_management_webapp.service.serviceInterface;
+
+import com.vsk.employee_management_webapp.dto.EmployeeAuditResponse;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Read access to the employee audit trail.
+ */
+public interface EmployeeAuditService {
+
+    /**
+     * Audit records newest first, optionally only those of one employee and/or one actor.
+     *
+     * @param employeeId only records of this employee, or null for all
+     * @param actor      only records by this user, or null for all
+     * @param beforeId   only records older than this audit record ID, or null to start from the newest
+     * @param size       maximum number of records
+     * @return the records, with whether older ones follow
+     */
+    Slice<EmployeeAuditResponse> getHistory(Long employeeId, String actor, Long beforeId, int size);
+}
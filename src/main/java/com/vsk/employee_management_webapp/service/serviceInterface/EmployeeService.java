@@ -1,11 +1,22 @@
 package com.vsk.employee_management_webapp.service.serviceInterface;
 
+import com.vsk.employee_management_webapp.dto.ArchivedEmployeeResponse;
+import com.vsk.employee_management_webapp.dto.BulkOperationResponse;
+import com.vsk.employee_management_webapp.dto.CountMode;
+import com.vsk.employee_management_webapp.dto.EmployeeBatchResponse;
+import com.vsk.employee_management_webapp.dto.EmployeePatchRequest;
 import com.vsk.employee_management_webapp.dto.EmployeeRequest;
 import com.vsk.employee_management_webapp.dto.EmployeeResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
@@ -14,28 +25,86 @@ public interface EmployeeService {
      */
     List<EmployeeResponse> getAllEmployees();
 
+    /**
+     * Push every employee record to the consumer one at a time without
+     * materializing the full table in memory
+     */
+    void streamAllEmployees(Consumer<EmployeeResponse> consumer);
+
+    /**
+     * Opaque token that changes whenever any employee is added, changed or removed
+     */
+    String getAllEmployeesVersion();
+
     /**
      * Persist a new employee
      */
     EmployeeResponse saveEmployee(EmployeeRequest employeeRequest);
 
+    /**
+     * Persist many employees in chunked transactions, reporting failures per chunk and row
+     */
+    EmployeeBatchResponse saveEmployees(Iterator<EmployeeRequest> employeeRequests);
+
     /**
      * Retrieve a specific employee by ID
      */
     EmployeeResponse getEmployeeById(long id);
 
     /**
-     * Remove an employee by ID
+     * Remove an employee by ID; the record is kept, first soft-deleted and later archived
      */
     void deleteEmployeeById(long id);
 
+    /**
+     * Remove many employees at once by ID
+     */
+    BulkOperationResponse deleteEmployeesByIds(List<Long> ids);
+
+    /**
+     * Bring a deleted employee back, whether or not it has been archived yet
+     */
+    EmployeeResponse restoreEmployee(long id);
+
+    /**
+     * Retrieve deleted employees newest ID first, optionally only those with the given email,
+     * starting below the given ID (or from the newest when it is null)
+     */
+    Slice<ArchivedEmployeeResponse> getDeletedEmployees(String email, Long beforeId, int size);
+
+    /**
+     * Apply partial updates to many employees at once
+     */
+    BulkOperationResponse patchEmployees(List<EmployeePatchRequest> patches);
+
     /**
      * Retrieve paginated employees for UI or API consumption
      */
     Page<EmployeeResponse> getPaginatedEmployees(Pageable pageable); // Renamed for semantic clarity
 
+    /**
+     * Retrieve paginated employees with the total obtained as requested;
+     * returns a Page for EXACT and CACHED, and a plain Slice for NONE
+     */
+    Slice<EmployeeResponse> getPaginatedEmployees(Pageable pageable, CountMode countMode);
+
+    /**
+     * Retrieve the page of employees that follows the given keyset position
+     */
+    Window<EmployeeResponse> getEmployeesAfter(ScrollPosition position, Sort sort, int size);
+
+    /**
+     * Search employees by first name, last name or email, matching whole words or word prefixes
+     */
+    Page<EmployeeResponse> searchEmployees(String query, Pageable pageable);
+
     /**
      * Update an existing employee's details
      */
     EmployeeResponse updateEmployee(long id, EmployeeRequest employeeRequest);
+
+    /**
+     * Update an employee only if it is still at the expected version
+     */
+    EmployeeResponse updateEmployee(long id, long expectedVersion, EmployeeRequest employeeRequest);
 }
@@ -0,0 +1,49 @@
+package com.vsk.employee_management_webapp.service.serviceInterface;
+
+import com.vsk.employee_management_webapp.dto.EmployeeRequest;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService} for the reactive profile
+ */
+public interface ReactiveEmployeeService {
+
+    /**
+     * Every employee record, ordered by ID and emitted as the subscriber requests them
+     */
+    Flux<EmployeeResponse> streamAllEmployees();
+
+    /**
+     * Persist a new employee
+     */
+    Mono<EmployeeResponse> saveEmployee(EmployeeRequest employeeRequest);
+
+    /**
+     * Retrieve a specific employee by ID
+     */
+    Mono<EmployeeResponse> getEmployeeById(long id);
+
+    /**
+     * Remove an employee by ID
+     */
+    Mono<Void> deleteEmployeeById(long id);
+
+    /**
+     * Retrieve paginated employees with their total
+     */
+    Mono<Page<EmployeeResponse>> getPaginatedEmployees(Pageable pageable);
+
+    /**
+     * Update an existing employee's details
+     */
+    Mono<EmployeeResponse> updateEmployee(long id, EmployeeRequest employeeRequest);
+
+    /**
+     * Update an employee only if it is still at the expected version
+     */
+    Mono<EmployeeResponse> updateEmployee(long id, long expectedVersion, EmployeeRequest employeeRequest);
+}
@@ -2,13 +2,15 @@ package com.vsk.employee_management_webapp.service.serviceInterface;
 
 import com.vsk.employee_management_webapp.dto.UserRegistrationRequest;
 import com.vsk.employee_management_webapp.model.User;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 /**
  * Service interface for user management and authentication.
- * Extends Spring Security's UserDetailsService for integration with authentication.
+ * Extends Spring Security's UserDetailsService for integration with authentication, and
+ * UserDetailsPasswordService so stored hashes are re-encoded when the hashing strength changes.
  */
-public interface UserService extends UserDetailsService {
+public interface UserService extends UserDetailsService, UserDetailsPasswordService {
 
     /**
      * Registers a new user with default role and encodes the password.
@@ -0,0 +1,31 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version, so this only runs on empty ones.
+
+create table employees (
+    id         bigint       not null,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255),
+    version    bigint       not null,
+    primary key (id)
+);
+
+create table role (
+    id   bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+);
+
+create table users (
+    id         bigint not null auto_increment,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255),
+    password   varchar(255),
+    primary key (id)
+);
+
+create table users_roles (
+    user_id bigint not null,
+    role_id bigint not null
+);
@@ -0,0 +1,35 @@
+-- Registration used to insert a new ROLE_USER row per user. Point every user at the
+-- lowest ID per role name and drop the duplicates, so role names can be unique.
+update users_roles
+set role_id = (select min(r2.id)
+               from role r1
+               join role r2 on r2.name = r1.name
+               where r1.id = users_roles.role_id);
+
+delete from role
+where id not in (select keep_id from (select min(id) as keep_id from role group by name) kept);
+
+create unique index ux_role_name on role (name);
+
+insert into role (name)
+select 'ROLE_USER' from dual
+where not exists (select * from role where name = 'ROLE_USER');
+
+-- Login and every authenticated request with the user lookup enabled look users up by email;
+-- uniqueness also settles concurrent registrations of the same address
+create unique index ux_users_email on users (email);
+
+create unique index ux_employees_email on employees (email);
+
+-- The default page sort is by ID, which the clustered primary key already serves. Sorting
+-- by last name (pages and keyset cursors order by last_name, id) is served by this one,
+-- as InnoDB appends the primary key to every secondary index.
+create index ix_employees_last_name on employees (last_name);
+
+alter table users_roles add constraint pk_users_roles primary key (user_id, role_id);
+
+create index ix_users_roles_role_id on users_roles (role_id);
+
+alter table users_roles add constraint fk_users_roles_user foreign key (user_id) references users (id) on delete cascade;
+
+alter table users_roles add constraint fk_users_roles_role foreign key (role_id) references role (id);
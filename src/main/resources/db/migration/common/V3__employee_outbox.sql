@@ -0,0 +1,20 @@
+-- Employee events written in the same transaction as the change itself, for OutboxDispatcher to deliver.
+-- Delivered rows are deleted; rows that ran out of attempts stay behind with failed = true.
+-- The auto-increment ID orders each employee's events: a row is inserted while the transaction
+-- still holds the employee's row lock, so a later change to the same employee gets a higher ID.
+
+create table employee_outbox (
+    id                 bigint        not null auto_increment,
+    employee_id        bigint        not null,
+    event_type         varchar(16)   not null,
+    payload            varchar(4000),
+    created_at         timestamp(6)  not null default current_timestamp(6),
+    attempts           int           not null default 0,
+    next_attempt_at_ms bigint        not null default 0,
+    last_error         varchar(1000),
+    failed             boolean       not null default false,
+    primary key (id)
+);
+
+-- Serves the dispatcher's check for an earlier undelivered event of the same employee
+create index ix_employee_outbox_employee on employee_outbox (employee_id, id);
@@ -0,0 +1,18 @@
+-- Append-only history of employee changes, written in batches by EmployeeAuditTrail.
+-- changes holds {"field": {"from": ..., "to": ...}} for every field the change touched.
+
+create table employee_audit (
+    id          bigint        not null auto_increment,
+    employee_id bigint        not null,
+    action      varchar(16)   not null,
+    actor       varchar(255)  not null,
+    changed_at  timestamp(6)  not null,
+    version     bigint        not null,
+    changes     varchar(4000) not null,
+    primary key (id)
+);
+
+-- History is read newest first by seeking below the last ID seen, for one employee, one actor or
+-- everything (the primary key); each index ends in the ID so the seek and the order come from it
+create index ix_employee_audit_employee on employee_audit (employee_id, id);
+create index ix_employee_audit_actor on employee_audit (actor, id);
@@ -0,0 +1,28 @@
+-- Deleting an employee now only sets deleted_at; EmployeeArchiver later moves such rows to
+-- employees_archive in small batches, so the live table and its indexes only hold current rows.
+
+alter table employees add column deleted_at timestamp(6);
+
+-- Emails stay unique among live employees only, so an address can be reused while its deleted
+-- owner waits to be archived: the generated column is null for deleted rows, and a unique index
+-- allows any number of nulls
+alter table employees add column live_email varchar(255) generated always as (case when deleted_at is null then email end);
+alter table employees drop index ux_employees_email;
+create unique index ux_employees_live_email on employees (live_email);
+
+-- Serves the archiver's oldest-deleted-first claim; live rows are all null and sort first
+create index ix_employees_deleted_at on employees (deleted_at);
+
+create table employees_archive (
+    id          bigint       not null,
+    first_name  varchar(255),
+    last_name   varchar(255),
+    email       varchar(255),
+    version     bigint       not null,
+    deleted_at  timestamp(6) not null,
+    archived_at timestamp(6) not null default current_timestamp(6),
+    primary key (id)
+);
+
+-- Archive lookups by email, newest ID first
+create index ix_employees_archive_email on employees_archive (email, id);
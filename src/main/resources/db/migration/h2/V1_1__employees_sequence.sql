@@ -0,0 +1,3 @@
+-- Pooled sequence matching the entity's allocationSize of 50
+
+create sequence if not exists employees_seq start with 1 increment by 50;
@@ -0,0 +1,4 @@
+-- Optimistic-locking column of Employee, added with existing rows at version 0 to a database
+-- baselined at V1 from before it existed; one created by V1 already has it
+
+alter table employees add column if not exists version bigint default 0 not null;
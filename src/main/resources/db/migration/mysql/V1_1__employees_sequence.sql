@@ -0,0 +1,12 @@
+-- MySQL has no sequences; Hibernate emulates employees_seq with a single-row table.
+-- Idempotent, since databases baselined at V1 already have it.
+
+create table if not exists employees_seq (
+    next_val bigint
+);
+
+-- Start past any existing rows, in case they were created with auto-increment IDs. The pooled
+-- optimizer reads a value V as the block V-49..V, so an existing table starts a full block past max(id).
+insert into employees_seq (next_val)
+select coalesce((select max(id) + 50 from employees), 1) from dual
+where not exists (select * from employees_seq);
@@ -0,0 +1,14 @@
+-- Optimistic-locking column of Employee. A database baselined at V1 from before it was added has
+-- no such column, so it is added with existing rows at version 0; one created by V1 already has it.
+-- MySQL has no "add column if not exists", so the statement is chosen from information_schema.
+
+set @add_employees_version = (
+    select if(count(*) = 0,
+              'alter table employees add column version bigint not null default 0',
+              'select 1')
+    from information_schema.columns
+    where table_schema = database() and table_name = 'employees' and column_name = 'version'
+);
+prepare add_employees_version from @add_employees_version;
+execute add_employees_version;
+deallocate prepare add_employees_version;
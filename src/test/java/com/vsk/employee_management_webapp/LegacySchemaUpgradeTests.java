@@ -0,0 +1,94 @@
+package com.vsk.employee_management_webapp;
+
+import com.vsk.employee_management_webapp.config.UniqueEmailMigrationCheck;
+import com.vsk.employee_management_webapp.dto.EmployeeRequest;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A database created by the old ddl-auto=update setup, before employees had a version column,
+ * is baselined at V1 and upgraded by the later migrations, unless duplicate emails stand in the
+ * way of the unique indexes
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LegacySchemaUpgradeTests {
+
+    private static final String URL = "jdbc:h2:mem:legacy_schema_test;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            createLegacySchema(statement);
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void existingEmployeesStartAtVersionZeroAndCanBeUpdated() {
+        EmployeeResponse existing = employeeService.getEmployeeById(1);
+        assertEquals(0, existing.version());
+
+        EmployeeResponse updated = employeeService.updateEmployee(1, 0,
+                new EmployeeRequest("Old", "Timer", "old.timer@example.org"));
+        assertEquals(1, updated.version());
+    }
+
+    @Test
+    void duplicateEmailsStopTheMigrationUntilTheyAreRemoved() throws SQLException {
+        String url = "jdbc:h2:mem:legacy_duplicates_test;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            createLegacySchema(statement);
+            statement.execute("insert into employees (first_name, last_name, email) values ('Old', 'Timer', 'old.timer@example.com')");
+        }
+        Flyway flyway = Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .callbacks(new UniqueEmailMigrationCheck())
+                .load();
+
+        FlywayException failure = assertThrows(FlywayException.class, flyway::migrate);
+        assertTrue(failure.getMessage().contains("employees: old.timer@example.com (2 rows)"), failure.getMessage());
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("delete from employees where id = 2");
+        }
+        flyway.migrate();
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    private static void createLegacySchema(Statement statement) throws SQLException {
+        statement.execute("create table employees (id bigint not null auto_increment, first_name varchar(255), "
+                + "last_name varchar(255), email varchar(255), primary key (id))");
+        statement.execute("create table role (id bigint not null auto_increment, name varchar(255), primary key (id))");
+        statement.execute("create table users (id bigint not null auto_increment, first_name varchar(255), "
+                + "last_name varchar(255), email varchar(255), password varchar(255), primary key (id))");
+        statement.execute("create table users_roles (user_id bigint not null, role_id bigint not null)");
+        statement.execute("insert into employees (first_name, last_name, email) values ('Old', 'Timer', 'old.timer@example.com')");
+    }
+}
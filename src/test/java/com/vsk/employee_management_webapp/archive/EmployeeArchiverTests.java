@@ -0,0 +1,84 @@
+package com.vsk.employee_management_webapp.archive;
+
+import com.vsk.employee_management_webapp.dto.ArchivedEmployeeResponse;
+import com.vsk.employee_management_webapp.dto.EmployeePatchRequest;
+import com.vsk.employee_management_webapp.dto.EmployeeRequest;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.exception.ResourceNotFoundException;
+import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Deletes through the service, archived by the running archiver once they are a second old
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "employee_app.archive.afterMs=1000",
+        "employee_app.archive.intervalMs=50"
+})
+@ActiveProfiles("test")
+class EmployeeArchiverTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deletedEmployeeIsHiddenThenArchivedAndCanBeRestored() {
+        EmployeeResponse ann = employeeService.saveEmployee(new EmployeeRequest("Ann", "Lee", "ann.lee@example.com"));
+        employeeService.deleteEmployeeById(ann.id());
+
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(ann.id()));
+        assertEquals(0, employeeService.patchEmployees(List.of(new EmployeePatchRequest(ann.id(), null, "Lim", null))).affected());
+        // The address is free again while its deleted owner still waits to be archived
+        EmployeeResponse successor = employeeService.saveEmployee(new EmployeeRequest("Ann", "Roe", "ann.lee@example.com"));
+        assertNull(deleted("ann.lee@example.com").archivedAt());
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> count("employees_archive", ann.id()) == 1);
+        assertEquals(0, count("employees", ann.id()));
+        assertNotNull(deleted("ann.lee@example.com").archivedAt());
+
+        assertThrows(DataIntegrityViolationException.class, () -> employeeService.restoreEmployee(ann.id()));
+        employeeService.deleteEmployeeById(successor.id());
+        EmployeeResponse restored = employeeService.restoreEmployee(ann.id());
+        assertEquals(new EmployeeResponse(ann.id(), "Ann", "Lee", "ann.lee@example.com", ann.version() + 2), restored); // Deleted, then restored
+        assertEquals(restored, employeeService.getEmployeeById(ann.id()));
+        assertEquals(0, count("employees_archive", ann.id()));
+    }
+
+    @Test
+    void employeeRestoredBeforeArchivingStaysInPlace() {
+        EmployeeResponse bob = employeeService.saveEmployee(new EmployeeRequest("Bob", "Ray", "bob.ray@example.com"));
+        employeeService.deleteEmployeeById(bob.id());
+
+        EmployeeResponse restored = employeeService.restoreEmployee(bob.id());
+        assertEquals(bob.version() + 2, restored.version());
+        assertEquals(restored, employeeService.getEmployeeById(bob.id()));
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.restoreEmployee(bob.id()));
+    }
+
+    // The employee's newest entry in the deleted employees listing for this address
+    private ArchivedEmployeeResponse deleted(String email) {
+        return employeeService.getDeletedEmployees(email, null, 1).getContent().getFirst();
+    }
+
+    private int count(String table, long id) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where id = ?", Integer.class, id);
+    }
+}
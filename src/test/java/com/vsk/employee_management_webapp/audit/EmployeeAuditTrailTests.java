@@ -0,0 +1,100 @@
+package com.vsk.employee_management_webapp.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Employee writes through the API by two users, read back page by page from the audit endpoint
+ * once the background writer has caught up
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:audit_test;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeAuditTrailTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void recordsWhoChangedWhatAndPagesNewestFirst() throws Exception {
+        String ann = token("ann@example.com");
+        String bob = token("bob@example.com");
+        String created = mockMvc.perform(post("/api/employees")
+                        .header("Authorization", ann)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Eve\",\"lastName\":\"Lee\",\"email\":\"eve.lee@example.com\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+        mockMvc.perform(put("/api/employees/{id}", id)
+                        .header("Authorization", bob)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Eve\",\"lastName\":\"Lim\",\"email\":\"eve.lee@example.com\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/employees/{id}", id).header("Authorization", ann))
+                .andExpect(status().isNoContent());
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> history(ann, "employeeId=" + id + "&size=10").get("content").size() == 3);
+
+        JsonNode first = history(ann, "employeeId=" + id + "&size=2");
+        JsonNode deleted = first.get("content").get(0);
+        JsonNode updated = first.get("content").get(1);
+        assertEquals(List.of("DELETED", "ann@example.com"), List.of(deleted.get("action").asText(), deleted.get("actor").asText()));
+        assertEquals("Lim", deleted.at("/changes/lastName/from").asText());
+        assertTrue(deleted.at("/changes/lastName/to").isNull());
+        assertEquals(List.of("UPDATED", "bob@example.com"), List.of(updated.get("action").asText(), updated.get("actor").asText()));
+        assertEquals("{\"lastName\":{\"from\":\"Lee\",\"to\":\"Lim\"}}", updated.get("changes").toString());
+        assertFalse(first.get("last").asBoolean());
+
+        JsonNode second = history(ann, "employeeId=" + id + "&size=2&before=" + first.get("nextCursor").asText());
+        assertEquals("CREATED", second.at("/content/0/action").asText());
+        assertEquals("Eve", second.at("/content/0/changes/firstName/to").asText());
+        assertTrue(second.get("last").asBoolean());
+
+        JsonNode bobs = history(ann, "employeeId=" + id + "&actor=bob@example.com");
+        assertEquals(1, bobs.get("content").size());
+    }
+
+    private JsonNode history(String authorization, String query) throws Exception {
+        String body = mockMvc.perform(get("/api/employees/audit?" + query).header("Authorization", authorization))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private String token(String email) {
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var principal = new User(email, "", authorities);
+        return "Bearer " + jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
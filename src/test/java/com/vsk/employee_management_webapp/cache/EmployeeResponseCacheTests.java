@@ -0,0 +1,52 @@
+package com.vsk.employee_management_webapp.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * A read-through miss that read an employee before a concurrent write committed, and finishes
+ * after that write reached the cache
+ */
+class EmployeeResponseCacheTests {
+
+    private final EmployeeResponseCache cache = new EmployeeResponseCache("employees", Caffeine.newBuilder().build());
+
+    @Test
+    void aMissDoesNotOverwriteAnUpdateThatCommittedDuringIt() {
+        EmployeeResponse loaded = cache.get(1L, () -> {
+            cache.put(1L, employee(1)); // The update commits while the miss still holds version 0
+            return employee(0);
+        });
+
+        assertEquals(0, loaded.version());
+        assertEquals(1, cache.get(1L, EmployeeResponse.class).version());
+    }
+
+    @Test
+    void aMissDoesNotRestoreAnEmployeeDeletedDuringIt() {
+        cache.get(1L, () -> {
+            cache.evict(1L); // The delete commits while the miss still holds the live row
+            return employee(0);
+        });
+
+        assertNull(cache.get(1L));
+        assertEquals(2, cache.get(1L, () -> employee(2)).version());
+        assertEquals(2, cache.get(1L, EmployeeResponse.class).version());
+    }
+
+    @Test
+    void aLatePutOfAnOlderVersionIsIgnored() {
+        cache.put(1L, employee(3));
+        cache.put(1L, employee(2));
+
+        assertEquals(3, cache.get(1L, EmployeeResponse.class).version());
+    }
+
+    private static EmployeeResponse employee(long version) {
+        return new EmployeeResponse(1L, "Ann", "Lee", "ann.lee@example.com", version);
+    }
+}
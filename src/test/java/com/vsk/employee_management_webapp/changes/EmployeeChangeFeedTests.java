@@ -0,0 +1,182 @@
+package com.vsk.employee_management_webapp.changes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.dto.EmployeeRequest;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Subscribers of the change feed against a replay buffer of 8 changes and at most 4 subscribers.
+ * Writes go through the service; a bulk create of more changes than the buffer holds drops
+ * every subscriber, which the tests also use to free the subscriber slots they took.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changes_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "employee_app.changes.replayCapacity=8",
+        "employee_app.changes.maxSubscribers=4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeChangeFeedTests {
+
+    private static final int MAX_SUBSCRIBERS = 4;
+    private static final AtomicInteger EMAILS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void resumesAfterTheLastEventIdWithVersionedDeletes() throws Exception {
+        MvcResult live = subscribe(null);
+        EmployeeResponse ann = create("Ann");
+        Event annCreated = awaitEvents(live, 1).getFirst();
+
+        EmployeeResponse bob = create("Bob");
+        EmployeeResponse bobUpdated = employeeService.updateEmployee(bob.id(), new EmployeeRequest("Bob", "Ray", bob.email()));
+        employeeService.deleteEmployeeById(ann.id());
+        awaitEvents(live, 4);
+
+        List<Event> missed = awaitEvents(subscribe(annCreated.id()), 3);
+        assertEquals(List.of("created", "updated", "deleted"), missed.stream().map(Event::name).toList());
+        long sequence = annCreated.data().get("sequence").asLong();
+        for (Event event : missed) {
+            assertEquals(++sequence, event.data().get("sequence").asLong());
+        }
+        assertEquals(bobUpdated.version(), missed.get(1).data().get("version").asLong());
+        JsonNode deleted = missed.get(2).data();
+        assertEquals(ann.id(), deleted.get("id").asLong());
+        assertEquals(ann.version() + 1, deleted.get("version").asLong());
+        assertTrue(deleted.get("employee").isNull());
+    }
+
+    @Test
+    void dropsASubscriberThatFallsTheBufferBehindAndResetsItOnReconnect() throws Exception {
+        MvcResult subscriber = subscribe(null);
+        create("Cat");
+        Event last = awaitEvents(subscriber, 1).getFirst();
+
+        overrunBuffer();
+        subscriber.getAsyncResult(5_000); // Completed by the feed
+
+        List<Event> afterReconnect = awaitEvents(subscribe(last.id()), 1);
+        assertEquals("reset", afterReconnect.getFirst().name());
+        assertEquals(last.data().get("sequence").asLong() + 10, afterReconnect.getFirst().data().get("sequence").asLong());
+    }
+
+    @Test
+    void refusesSubscribersBeyondTheLimit() throws Exception {
+        // Other tests may still hold some of the slots
+        MvcResult refused = null;
+        for (int attempt = 0; attempt <= MAX_SUBSCRIBERS && refused == null; attempt++) {
+            MvcResult result = mockMvc.perform(changes(null)).andReturn();
+            if (result.getResponse().getStatus() == 503) {
+                refused = result;
+            }
+        }
+        assertNotNull(refused);
+        assertNotNull(refused.getResponse().getHeader("Retry-After"));
+
+        overrunBuffer();
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscribeStatus() == 200);
+    }
+
+    private EmployeeResponse create(String firstName) {
+        return employeeService.saveEmployee(new EmployeeRequest(firstName, "Lee", email(firstName)));
+    }
+
+    // One commit of more changes than the buffer holds, which drops every subscriber
+    private void overrunBuffer() {
+        employeeService.saveEmployees(IntStream.range(0, 10)
+                .mapToObj(i -> new EmployeeRequest("Bulk", "Lee", email("bulk")))
+                .iterator());
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        MvcResult result = mockMvc.perform(changes(lastEventId)).andReturn();
+        assertEquals(200, result.getResponse().getStatus());
+        return result;
+    }
+
+    private int subscribeStatus() throws Exception {
+        return mockMvc.perform(changes(null)).andReturn().getResponse().getStatus();
+    }
+
+    private MockHttpServletRequestBuilder changes(String lastEventId) {
+        MockHttpServletRequestBuilder request = get("/api/employees/changes").header("Authorization", token());
+        return lastEventId == null ? request : request.header("Last-Event-ID", lastEventId);
+    }
+
+    private List<Event> awaitEvents(MvcResult result, int count) {
+        return await().atMost(Duration.ofSeconds(5)).until(() -> events(result), events -> events.size() >= count);
+    }
+
+    // The events written to the stream so far, without comments and the reconnect time
+    private List<Event> events(MvcResult result) throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (String block : result.getResponse().getContentAsString().split("\n\n")) {
+            String id = null;
+            String name = null;
+            String data = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    data = line.substring(5);
+                }
+            }
+            if (data != null) {
+                events.add(new Event(id, name, objectMapper.readTree(data)));
+            }
+        }
+        return events;
+    }
+
+    private static String email(String name) {
+        return name.toLowerCase() + "." + EMAILS.incrementAndGet() + "@example.com";
+    }
+
+    private String token() {
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var principal = new User("feed@example.com", "", authorities);
+        return "Bearer " + jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    private record Event(String id, String name, JsonNode data) {
+    }
+}
@@ -0,0 +1,232 @@
+package com.vsk.employee_management_webapp.controller;
+
+import com.vsk.employee_management_webapp.config.CacheConfiguration;
+import com.vsk.employee_management_webapp.metrics.RequestQueryFilter;
+import com.vsk.employee_management_webapp.model.Employee;
+import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.vsk.employee_management_webapp.metrics.QueryCountAssertions.assertQueryCount;
+import static com.vsk.employee_management_webapp.metrics.QueryCountAssertions.resetQueryCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements behind the employee endpoints, so a change that adds
+ * queries (an extra lookup, a lazy load, an N+1) fails the build
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeControllerQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private String authorization;
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAllInBatch();
+        cacheManager.getCache(CacheConfiguration.EMPLOYEES_CACHE).clear();
+        employees = employeeRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> new Employee("First" + i, "Last" + i, "employee" + i + "@example.com"))
+                .toList());
+
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var principal = new User("tester@example.com", "", authorities);
+        authorization = "Bearer " + jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    @Test
+    void getEmployeeByIdQueriesOnceThenServesFromCache() throws Exception {
+        long id = employees.get(0).getId();
+
+        resetQueryCount();
+        mockMvc.perform(get("/api/employees/{id}", id).header("Authorization", authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestQueryFilter.QUERY_COUNT_HEADER, "1"));
+        assertQueryCount(1);
+
+        resetQueryCount();
+        mockMvc.perform(get("/api/employees/{id}", id).header("Authorization", authorization))
+                .andExpect(status().isOk());
+        assertQueryCount(0);
+    }
+
+    @Test
+    void matchingIfNoneMatchGets304AndAChangedVersionANewTag() throws Exception {
+        Employee employee = employees.get(0);
+        String etag = "\"" + employee.getVersion() + "\"";
+
+        resetQueryCount();
+        mockMvc.perform(get("/api/employees/{id}", employee.getId())
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertQueryCount(1);
+
+        mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .header("Authorization", authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"ann.lee@example.com\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/{id}", employee.getId())
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (employee.getVersion() + 1) + "\""));
+    }
+
+    @Test
+    void allEmployeesRevalidateAgainstAWeakTableTag() throws Exception {
+        String etag = mockMvc.perform(get("/api/employees/all").header("Authorization", authorization))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/\""), etag);
+
+        // Answered from the table version alone, without loading any employee
+        resetQueryCount();
+        mockMvc.perform(get("/api/employees/all")
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertQueryCount(1);
+
+        mockMvc.perform(delete("/api/employees/{id}", employees.get(0).getId()).header("Authorization", authorization))
+                .andExpect(status().isNoContent());
+        String changed = mockMvc.perform(get("/api/employees/all")
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void pageRunsSelectAndCount() throws Exception {
+        resetQueryCount();
+        mockMvc.perform(get("/api/employees").param("size", "5").header("Authorization", authorization))
+                .andExpect(status().isOk());
+        assertQueryCount(2);
+    }
+
+    @Test
+    void pageWithoutCountRunsSelectOnly() throws Exception {
+        resetQueryCount();
+        mockMvc.perform(get("/api/employees").param("size", "5").param("countMode", "none")
+                        .header("Authorization", authorization))
+                .andExpect(status().isOk());
+        assertQueryCount(1);
+    }
+
+    // Every successful write also records its outbox event, in one INSERT; audit records are written
+    // off the request thread
+
+    @Test
+    void updateLoadsThenUpdates() throws Exception {
+        resetQueryCount();
+        mockMvc.perform(put("/api/employees/{id}", employees.get(0).getId())
+                        .header("Authorization", authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"ann.lee@example.com\"}"))
+                .andExpect(status().isOk());
+        assertQueryCount(3);
+    }
+
+    @Test
+    void conditionalUpdateOfACachedEmployeeIsASingleUpdate() throws Exception {
+        Employee employee = employees.get(0);
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).header("Authorization", authorization))
+                .andExpect(status().isOk());
+
+        resetQueryCount();
+        mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_MATCH, "\"" + employee.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"ann.lee@example.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (employee.getVersion() + 1) + "\""));
+        assertQueryCount(2);
+    }
+
+    @Test
+    void staleConditionalUpdateFailsWithoutWriting() throws Exception {
+        Employee employee = employees.get(0);
+        String staleETag = "\"" + employee.getVersion() + "\"";
+        String body = "{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"ann.lee@example.com\"}";
+        mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        resetQueryCount();
+        mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("Ann", "Bob")))
+                .andExpect(status().isPreconditionFailed());
+        assertQueryCount(1);
+        assertEquals("Ann", employeeRepository.findById(employee.getId()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void conditionalUpdateOfAnUncachedEmployeeLocksItFirst() throws Exception {
+        Employee employee = employees.get(0);
+
+        resetQueryCount();
+        mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_MATCH, "\"" + employee.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"ann.lee@example.com\"}"))
+                .andExpect(status().isOk());
+        assertQueryCount(3);
+    }
+
+    @Test
+    void deleteLocksThenDeletes() throws Exception {
+        resetQueryCount();
+        mockMvc.perform(delete("/api/employees/{id}", employees.get(0).getId()).header("Authorization", authorization))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(RequestQueryFilter.QUERY_COUNT_HEADER, "3"));
+        assertQueryCount(3);
+    }
+}
@@ -0,0 +1,115 @@
+package com.vsk.employee_management_webapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.model.Employee;
+import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON and CSV exports of GET /api/employees/all, run through the async dispatch that
+ * completes the streamed response
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export_test;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmployeeExportTests {
+
+    private static final int EMPLOYEES = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAllInBatch();
+        List<Employee> seed = new ArrayList<>(IntStream.range(1, EMPLOYEES)
+                .mapToObj(i -> new Employee("First" + i, "Last" + i, "employee" + i + "@example.com"))
+                .toList());
+        seed.add(new Employee("Ann, \"Jr\"", "Lee", "ann.lee@example.com"));
+        employees = employeeRepository.saveAll(seed);
+    }
+
+    @Test
+    void exportsEveryEmployeeAsOneJsonObjectPerLine() throws Exception {
+        String body = export(MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE);
+
+        String[] lines = body.split("\n", -1);
+        assertEquals(EMPLOYEES + 1, lines.length); // The last line is terminated too
+        assertEquals("", lines[EMPLOYEES]);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            JsonNode row = objectMapper.readTree(lines[i]);
+            Employee employee = employees.get(i);
+            assertEquals(employee.getId(), row.get("id").asLong());
+            assertEquals(employee.getEmail(), row.get("email").asText());
+            assertEquals(employee.getVersion(), row.get("version").asLong());
+        }
+    }
+
+    @Test
+    void exportsEveryEmployeeAsCsvWithAHeaderAndQuotedFields() throws Exception {
+        String body = export("text/csv, application/x-ndjson;q=0.5", "text/csv;charset=UTF-8");
+
+        List<String> lines = body.lines().toList();
+        assertEquals(EMPLOYEES + 1, lines.size());
+        assertEquals("id,firstName,lastName,email", lines.getFirst());
+        assertEquals(employees.getFirst().getId() + ",First1,Last1,employee1@example.com", lines.get(1));
+        assertEquals(employees.getLast().getId() + ",\"Ann, \"\"Jr\"\"\",Lee,ann.lee@example.com", lines.getLast());
+    }
+
+    // The async dispatch only completes once the body has been written in full and closed
+    private String export(String accept, String expectedContentType) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/employees/all")
+                        .header("Authorization", token())
+                        .header(HttpHeaders.ACCEPT, accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(expectedContentType))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private String token() {
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var principal = new User("export@example.com", "", authorities);
+        return "Bearer " + jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
@@ -0,0 +1,142 @@
+package com.vsk.employee_management_webapp.controller;
+
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.model.Employee;
+import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The reactive profile against an embedded database shared by its R2DBC and JDBC pools
+ */
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactive_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "employee_app.outbox.dispatcher.enabled=false" // Keep delivered events in the table for the test to read
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+class ReactiveEmployeeControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAllInBatch();
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var principal = new User("test@example.com", "", authorities);
+        authorization = "Bearer " + jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    @Test
+    void requestsWithoutTokenAreRejected() {
+        webTestClient.get().uri("/api/employees")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void reactiveAndJpaInsertsShareTheIdSequence() {
+        long first = create("first@example.com").id();
+        long jpa = employeeRepository.save(new Employee("Jpa", "Test", "jpa@example.com")).getId();
+        long second = create("second@example.com").id();
+
+        assertEquals(3, Set.of(first, jpa, second).size());
+        webTestClient.get().uri("/api/employees/all")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeResponse.class).hasSize(3);
+    }
+
+    @Test
+    void updateWithStaleETagIsRejected() {
+        long id = create("versioned@example.com").id();
+        Map<String, String> changed = Map.of("firstName", "Changed", "lastName", "Test", "email", "versioned@example.com");
+
+        webTestClient.put().uri("/api/employees/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(changed)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+        webTestClient.put().uri("/api/employees/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(changed)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void writesRecordOutboxEventsAndAnAuditTrail() {
+        long id = create("outbox@example.com").id();
+        webTestClient.put().uri("/api/employees/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .bodyValue(Map.of("firstName", "Changed", "lastName", "Test", "email", "outbox@example.com"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete().uri("/api/employees/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        List<String> events = List.of("CREATED", "UPDATED", "DELETED");
+        assertEquals(events, jdbcTemplate.queryForList(
+                "select event_type from employee_outbox where employee_id = ? order by id", String.class, id));
+        await().atMost(Duration.ofSeconds(5)).until(() -> jdbcTemplate.queryForList(
+                "select action from employee_audit where employee_id = ? order by id", String.class, id).equals(events));
+        assertEquals(List.of("test@example.com"), jdbcTemplate.queryForList(
+                "select distinct actor from employee_audit where employee_id = ?", String.class, id));
+        assertEquals(List.of(1L, 2L), jdbcTemplate.queryForList(
+                "select version from employee_audit where employee_id = ? and action <> 'CREATED' order by id", Long.class, id));
+    }
+
+    private EmployeeResponse create(String email) {
+        return webTestClient.post().uri("/api/employees")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .bodyValue(Map.of("firstName", "Reactive", "lastName", "Test", "email", email))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(EmployeeResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,90 @@
+package com.vsk.employee_management_webapp.controller;
+
+import com.vsk.employee_management_webapp.model.Employee;
+import com.vsk.employee_management_webapp.repository.EmployeeRepository;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tomcat only gzips a response whose ETag is weak or absent, so the full list is compressed
+ * while single employees and pages, which carry strong ETags, are sent as they are
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:compression_test;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class ResponseCompressionTests {
+
+    private static final int EMPLOYEES = 50; // Well over the 2KB threshold as JSON
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient(); // Does not decompress on its own
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAllInBatch();
+        employeeRepository.saveAll(IntStream.range(0, EMPLOYEES)
+                .mapToObj(i -> new Employee("First" + i, "Last" + i, "employee" + i + "@example.com"))
+                .toList());
+    }
+
+    @Test
+    void compressesTheFullListWithItsWeakETag() throws Exception {
+        HttpResponse<byte[]> response = get("/api/employees/all");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/\""));
+    }
+
+    @Test
+    void sendsAPageWithItsStrongETagUncompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/api/employees?size=" + EMPLOYEES);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().length > 2048);
+        assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+        assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("\""));
+    }
+
+    private HttpResponse<byte[]> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.AUTHORIZATION, token())
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private String token() {
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var principal = new User("compression@example.com", "", authorities);
+        return "Bearer " + jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
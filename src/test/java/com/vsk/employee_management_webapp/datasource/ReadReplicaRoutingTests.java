@@ -0,0 +1,166 @@
+package com.vsk.employee_management_webapp.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.config.CacheConfiguration;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.search.EmployeeSearchIndex;
+import com.vsk.employee_management_webapp.search.EmployeeSearchIndexInitializer;
+import com.vsk.employee_management_webapp.security.JwtUtils;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read/write splitting against two embedded databases that are never synchronized, so every
+ * read shows which one it came from: rows inserted only into the replica stand in for
+ * replicated data, and writes made through the API exist only on the primary
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTests.PRIMARY_URL,
+        "employee_app.datasource.replica.url=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "employee_app.datasource.replica.readYourWritesMs=60000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingTests {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeSearchIndexInitializer employeeSearchIndexInitializer;
+
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    // Replication would normally create the replica's schema; it must exist before the context reads from it
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getDataSource())
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary.update("delete from employees");
+        replica.update("delete from employees");
+        cacheManager.getCache(CacheConfiguration.EMPLOYEES_CACHE).clear();
+        replica.update("insert into employees (id, first_name, last_name, email, version) values (900001, 'Replica', 'Only', 'replica.only@example.com', 0)");
+    }
+
+    @Test
+    void readsComeFromReplicaAndWritesGoToPrimary() throws Exception {
+        createEmployee(token("writer@example.com"), "Primary");
+
+        mockMvc.perform(get("/api/employees").header("Authorization", token("reader@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].firstName", contains("Replica")));
+        assertEquals(1, primary.queryForObject("select count(*) from employees", Integer.class));
+    }
+
+    @Test
+    void writerReadsOwnWritesFromPrimary() throws Exception {
+        String writer = token("writer@example.com");
+        createEmployee(writer, "Primary");
+
+        mockMvc.perform(get("/api/employees").header("Authorization", writer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].firstName", contains("Primary")));
+    }
+
+    @Test
+    void anotherUsersLookupDoesNotCacheTheReplicasStaleCopy() throws Exception {
+        String writer = token("writer@example.com");
+        long id = createEmployee(writer, "Primary");
+        // Replicated before the delete below, which the replica never applies
+        replica.update("insert into employees (id, first_name, last_name, email, version) values (?, 'Primary', 'Test', 'primary@example.com', 0)", id);
+
+        mockMvc.perform(delete("/api/employees/{id}", id).header("Authorization", writer))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/employees/{id}", id).header("Authorization", token("reader@example.com")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/{id}", id).header("Authorization", writer))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchIndexIsRebuiltFromThePrimary() {
+        primary.update("insert into employees (id, first_name, last_name, email, version) values (900002, 'Primary', 'Only', 'primary.only@example.com', 0)");
+
+        employeeSearchIndexInitializer.buildIndex();
+
+        assertEquals(List.of(900002L), employeeSearchIndex.search("only", Pageable.unpaged()).map(EmployeeResponse::id).getContent());
+    }
+
+    @Test
+    void loginReadsFromPrimaryRightAfterRegistration() throws Exception {
+        mockMvc.perform(post("/api/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"New\",\"lastName\":\"User\",\"email\":\"new.user@example.com\",\"password\":\"securepassword123\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"new.user@example.com\",\"password\":\"securepassword123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+    }
+
+    private long createEmployee(String authorization, String firstName) throws Exception {
+        String body = mockMvc.perform(post("/api/employees")
+                        .header("Authorization", authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"" + firstName + "\",\"lastName\":\"Test\",\"email\":\"" + firstName.toLowerCase() + "@example.com\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private String token(String email) {
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var principal = new User(email, "", authorities);
+        return "Bearer " + jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
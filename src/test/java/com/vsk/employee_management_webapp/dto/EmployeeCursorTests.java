@@ -0,0 +1,53 @@
+package com.vsk.employee_management_webapp.dto;
+
+import com.vsk.employee_management_webapp.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round trips of the opaque cursor, including rows without a value for the sort property
+ */
+class EmployeeCursorTests {
+
+    private static final Sort BY_LAST_NAME = Sort.by(Sort.Order.desc("lastName"));
+
+    @Test
+    void keepsANullSortKeyApartFromTheTextNull() {
+        EmployeeCursor first = EmployeeCursor.first(BY_LAST_NAME);
+
+        EmployeeCursor afterNull = EmployeeCursor.decode(first.next(position(null, 7)), BY_LAST_NAME);
+        assertNull(afterNull.sortKey());
+        assertEquals(7L, afterNull.id());
+        assertEquals(Sort.Order.desc("lastName"), afterNull.order());
+        Map<String, Object> keys = ((KeysetScrollPosition) afterNull.position()).getKeys();
+        assertNull(keys.get("lastName"));
+        assertEquals(7L, keys.get("id"));
+
+        EmployeeCursor afterText = EmployeeCursor.decode(first.next(position("null", 8)), BY_LAST_NAME);
+        assertEquals("null", afterText.sortKey());
+    }
+
+    @Test
+    void rejectsMalformedCursorsAndSortsAsBadRequests() {
+        assertThrows(BadRequestException.class, () -> EmployeeCursor.decode("not a cursor", BY_LAST_NAME));
+        String truncated = EmployeeCursor.first(BY_LAST_NAME).next(position("Smith", 3)).substring(0, 10);
+        assertThrows(BadRequestException.class, () -> EmployeeCursor.decode(truncated, BY_LAST_NAME));
+        assertThrows(BadRequestException.class, () -> EmployeeCursor.first(Sort.by("password")));
+    }
+
+    private static ScrollPosition position(String lastName, long id) {
+        Map<String, Object> keys = new HashMap<>();
+        keys.put("lastName", lastName);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
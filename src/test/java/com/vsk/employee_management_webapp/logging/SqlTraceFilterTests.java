@@ -0,0 +1,57 @@
+package com.vsk.employee_management_webapp.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Only an admin's X-Trace-SQL header turns SQL tracing on, and only while tracing is enabled
+ */
+class SqlTraceFilterTests {
+
+    @AfterEach
+    void clearCaller() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tracesAnAdminsRequest() throws Exception {
+        authenticate("ROLE_ADMIN");
+        assertEquals("true", traceDuringRequest(new SqlTraceFilter(true)));
+        assertNull(MDC.get(SqlTraceTurboFilter.MDC_KEY));
+    }
+
+    @Test
+    void ignoresTheHeaderFromOtherUsersAndWhenDisabled() throws Exception {
+        authenticate("ROLE_USER");
+        assertNull(traceDuringRequest(new SqlTraceFilter(true)));
+
+        authenticate("ROLE_ADMIN");
+        assertNull(traceDuringRequest(new SqlTraceFilter(false)));
+    }
+
+    // The MDC flag the SQL loggers see while the rest of the chain handles the request
+    private static String traceDuringRequest(SqlTraceFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader(SqlTraceFilter.HEADER, "true");
+        String[] seen = new String[1];
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen[0] = MDC.get(SqlTraceTurboFilter.MDC_KEY));
+        return seen[0];
+    }
+
+    private static void authenticate(String authority) {
+        var authorities = List.of(new SimpleGrantedAuthority(authority));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("tester@example.com", null, authorities));
+    }
+}
@@ -0,0 +1,30 @@
+package com.vsk.employee_management_webapp.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * SQL statement count assertions for integration tests. MockMvc requests and direct service
+ * calls run on the test thread, so everything between {@link #resetQueryCount()} and
+ * {@link #assertQueryCount(int)} is counted.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void resetQueryCount() {
+        while (RequestQueryStats.current() != null) {
+            RequestQueryStats.end();
+        }
+        RequestQueryStats.begin();
+    }
+
+    public static void assertQueryCount(int expected) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            throw new AssertionError("resetQueryCount() must be called before assertQueryCount()");
+        }
+        assertEquals(expected, stats.statements(),
+                () -> "Unexpected number of SQL statements; SELECTs prepared: " + stats.selects());
+    }
+}
@@ -0,0 +1,137 @@
+package com.vsk.employee_management_webapp.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsk.employee_management_webapp.dto.EmployeeRequest;
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.service.serviceInterface.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Employee writes through the service, delivered by the running dispatcher to a sink that can be
+ * made to fail and then to the file sink, which therefore only sees events once they got through
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "employee_app.outbox.sinks=flaky,file",
+        "employee_app.outbox.dispatcher.pollMs=50",
+        "employee_app.outbox.dispatcher.initialBackoffMs=100"
+})
+@ActiveProfiles("test")
+class OutboxDispatcherTests {
+
+    @TempDir
+    static Path directory;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FlakySink flakySink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void eventFile(DynamicPropertyRegistry registry) {
+        registry.add("employee_app.outbox.file.path", () -> eventFile().toString());
+    }
+
+    @Test
+    void deliversEachEmployeesEventsInOrderAndClearsTheOutbox() throws IOException {
+        EmployeeResponse employee = employeeService.saveEmployee(new EmployeeRequest("Ann", "Lee", "ann.lee@example.com"));
+        employeeService.updateEmployee(employee.id(), new EmployeeRequest("Ann", "Lim", "ann.lee@example.com"));
+        employeeService.deleteEmployeeById(employee.id());
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> deliveredTypes(employee.id()).size() == 3);
+        assertEquals(List.of("CREATED", "UPDATED", "DELETED"), deliveredTypes(employee.id()));
+        await().atMost(Duration.ofSeconds(10)).until(() -> pendingEvents(employee.id()) == 0);
+    }
+
+    @Test
+    void retriesAFailedEventBeforeDeliveringTheNextOneForTheSameEmployee() throws IOException {
+        flakySink.failuresLeft.set(2);
+        EmployeeResponse employee = employeeService.saveEmployee(new EmployeeRequest("Bob", "Ray", "bob.ray@example.com"));
+        employeeService.updateEmployee(employee.id(), new EmployeeRequest("Bob", "Roy", "bob.ray@example.com"));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> deliveredTypes(employee.id()).size() == 2);
+        assertEquals(List.of("CREATED", "UPDATED"), deliveredTypes(employee.id()));
+        // The create was attempted three times, and the update only after that
+        List<Long> attempts = flakySink.attemptedEmployees.stream().filter(id -> id == employee.id()).toList();
+        assertEquals(4, attempts.size());
+        assertEquals(0, pendingEvents(employee.id()));
+    }
+
+    private List<String> deliveredTypes(long employeeId) throws IOException {
+        List<String> types = new ArrayList<>();
+        if (Files.exists(eventFile())) {
+            for (String line : Files.readAllLines(eventFile())) {
+                JsonNode event = objectMapper.readTree(line);
+                if (event.get("employeeId").asLong() == employeeId) {
+                    types.add(event.get("type").asText());
+                }
+            }
+        }
+        return types;
+    }
+
+    private int pendingEvents(long employeeId) {
+        return jdbcTemplate.queryForObject("select count(*) from employee_outbox where employee_id = ?", Integer.class, employeeId);
+    }
+
+    private static Path eventFile() {
+        return directory.resolve("employee-events.ndjson");
+    }
+
+    static class FlakySink implements OutboxSink {
+
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        final List<Long> attemptedEmployees = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String name() {
+            return "flaky";
+        }
+
+        @Override
+        public void deliver(List<OutboxEvent> events) throws IOException {
+            events.forEach(event -> attemptedEmployees.add(event.employeeId()));
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IOException("Sink unavailable");
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class FlakySinkConfiguration {
+
+        @Bean
+        FlakySink flakySink() {
+            return new FlakySink();
+        }
+    }
+}
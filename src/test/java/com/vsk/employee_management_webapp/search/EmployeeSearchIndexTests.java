@@ -0,0 +1,74 @@
+package com.vsk.employee_management_webapp.search;
+
+import com.vsk.employee_management_webapp.dto.EmployeeResponse;
+import com.vsk.employee_management_webapp.exception.ServiceSaturatedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Rebuilding the index while writes commit, and what a search matches once it is ready
+ */
+class EmployeeSearchIndexTests {
+
+    @Test
+    void refusesSearchesUntilTheFirstBuildFinishes() {
+        EmployeeSearchIndex index = new EmployeeSearchIndex(2);
+
+        assertThrows(ServiceSaturatedException.class, () -> index.search("smith", Pageable.unpaged()));
+        index.rebuild(scan -> scan.accept(employee(1, "Jane", "Smith", 0)));
+        assertEquals(1, index.search("smith", Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void keepsWritesCommittedDuringTheScan() {
+        EmployeeSearchIndex index = new EmployeeSearchIndex(2);
+
+        index.rebuild(scan -> {
+            // The scan read employee 1 and 2 before they were changed and employee 3 after it was
+            scan.accept(employee(1, "Jane", "Smith", 0));
+            scan.accept(employee(2, "John", "Doe", 0));
+            index.put(employee(1, "Jane", "Brown", 1));
+            index.remove(2);
+            index.put(employee(3, "Ada", "Green", 1));
+            scan.accept(employee(3, "Ada", "Green", 1));
+            index.put(employee(3, "Ada", "Gray", 0));
+        });
+
+        assertEquals(List.of(1L), ids(index, "brown"));
+        assertEquals(List.of(), ids(index, "smith"));
+        assertEquals(List.of(), ids(index, "doe"));
+        assertEquals(List.of(3L), ids(index, "green"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void matchesShortTermsOnlyAsWholeTokensAndPagesTheRanking() {
+        EmployeeSearchIndex index = new EmployeeSearchIndex(2);
+        index.rebuild(scan -> {
+            scan.accept(employee(1, "Jo", "Smith", 0));
+            scan.accept(employee(2, "John", "Smith", 0));
+            scan.accept(employee(3, "Jane", "Smithers", 0));
+            scan.accept(employee(4, "Jim", "Smith", 0));
+        });
+
+        assertEquals(List.of(), ids(index, "j"));
+        assertEquals(List.of(1L, 2L), ids(index, "jo smith"));
+        assertEquals(List.of(4L, 1L, 2L, 3L), ids(index, "smi"));
+        assertEquals(List.of(2L, 3L), index.search("smi", PageRequest.of(1, 2)).map(EmployeeResponse::id).getContent());
+        assertEquals(4, index.search("smi", PageRequest.of(1, 2)).getTotalElements());
+    }
+
+    private static List<Long> ids(EmployeeSearchIndex index, String query) {
+        return index.search(query, Pageable.unpaged()).map(EmployeeResponse::id).getContent();
+    }
+
+    private static EmployeeResponse employee(long id, String firstName, String lastName, long version) {
+        return new EmployeeResponse(id, firstName, lastName, firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com", version);
+    }
+}
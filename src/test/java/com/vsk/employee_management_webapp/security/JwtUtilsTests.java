@@ -0,0 +1,58 @@
+package com.vsk.employee_management_webapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verified tokens are cached as an immutable projection of their claims
+ */
+class JwtUtilsTests {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[64]);
+
+    @Test
+    void cachesTheSubjectRolesAndExpiryOfAVerifiedToken() {
+        JwtUtils jwtUtils = jwtUtils(60_000);
+        String jwt = token(jwtUtils);
+
+        VerifiedToken verified = jwtUtils.verify(jwt).orElseThrow();
+        assertEquals("ann@example.com", verified.subject());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), verified.authorities());
+        assertTrue(verified.expiresAt().isAfter(Instant.now()));
+        assertThrows(UnsupportedOperationException.class, () -> verified.authorities().clear());
+        assertSame(verified, jwtUtils.verify(jwt).orElseThrow()); // A cache hit
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        JwtUtils jwtUtils = jwtUtils(-1_000);
+
+        assertTrue(jwtUtils.verify(token(jwtUtils)).isEmpty());
+        assertTrue(new VerifiedToken("ann@example.com", null, Instant.now()).isExpired(Instant.now()));
+    }
+
+    private static JwtUtils jwtUtils(int expirationMs) {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 100, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", expirationMs);
+        return jwtUtils;
+    }
+
+    private static String token(JwtUtils jwtUtils) {
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        var principal = new User("ann@example.com", "", authorities);
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
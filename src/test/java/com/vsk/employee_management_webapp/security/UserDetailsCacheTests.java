@@ -0,0 +1,40 @@
+package com.vsk.employee_management_webapp.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A user evicted while it is being loaded must not be cached from that load
+ */
+class UserDetailsCacheTests {
+
+    @Test
+    void doesNotCacheALoadThatAnEvictionOverlapped() {
+        UserDetailsCache cache = new UserDetailsCache(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        UserDetails stale = cache.get("ann@example.com", username -> {
+            loads.incrementAndGet();
+            cache.evict(username); // The user changes while the old row is being read
+            return user(username, "old");
+        });
+        assertEquals("old", stale.getPassword());
+
+        UserDetails fresh = cache.get("ann@example.com", username -> {
+            loads.incrementAndGet();
+            return user(username, "new");
+        });
+        assertEquals("new", fresh.getPassword());
+        assertEquals("new", cache.get("ann@example.com", username -> user(username, "unused")).getPassword());
+        assertEquals(2, loads.get());
+    }
+
+    private static UserDetails user(String username, String password) {
+        return User.withUsername(username).password(password).roles("USER").build();
+    }
+}
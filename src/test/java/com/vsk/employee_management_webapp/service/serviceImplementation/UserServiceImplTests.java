@@ -0,0 +1,32 @@
+package com.vsk.employee_management_webapp.service.serviceImplementation;
+
+import com.vsk.employee_management_webapp.dto.UserRegistrationRequest;
+import com.vsk.employee_management_webapp.service.serviceInterface.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Registration settles duplicate emails with the unique index on users.email
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user_service_test;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class UserServiceImplTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void rejectsASecondRegistrationOfTheSameEmail() {
+        UserRegistrationRequest request = new UserRegistrationRequest("Ann", "Lee", "ann.lee@example.com", "secret1");
+        assertNotNull(userService.save(request).getId());
+
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> userService.save(request));
+        assertEquals("Email already registered.", duplicate.getMessage());
+    }
+}